@@ -0,0 +1,64 @@
+package com.fstt.devoir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Corpus fixe des benchmarks (src/jmh/resources/levels) : "small", "medium" et "hard".
+ */
+final class BenchmarkLevels {
+
+    private BenchmarkLevels() {
+    }
+
+    static List<LevelEntry> load(String corpus) {
+        String resource = "/levels/" + corpus + ".sok";
+        InputStream in = BenchmarkLevels.class.getResourceAsStream(resource);
+        if (in == null) {
+            throw new IllegalArgumentException("Corpus introuvable: " + resource);
+        }
+        List<LevelEntry> levels = new ArrayList<>();
+        try (LevelCollectionReader reader = new LevelCollectionReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            reader.forEachRemaining(levels::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return levels;
+    }
+
+    /**
+     * Options de résolution communes aux benchmarks : recherche par poussées, sans affichage.
+     */
+    static SolverOptions options() {
+        SolverOptions options = new SolverOptions();
+        options.mode = SolverOptions.SearchMode.PUSHES;
+        options.verbose = false;
+        return options;
+    }
+
+    /**
+     * Échantillon d'états d'un niveau : les premiers états atteints par un parcours en largeur
+     * des poussées depuis l'état initial (sans doublons).
+     */
+    static List<Etat> sampleStates(Level level, int count) {
+        Etat initial = new Etat(level);
+        initial.normalizePlayer();
+        List<Etat> states = new ArrayList<>();
+        LongHashSet seen = new LongHashSet();
+        states.add(initial);
+        seen.add(initial.hash);
+        for (int i = 0; i < states.size() && states.size() < count; i++) {
+            for (Etat next : states.get(i).generatePushes()) {
+                if (states.size() < count && seen.add(next.hash)) {
+                    states.add(next);
+                }
+            }
+        }
+        return states;
+    }
+}
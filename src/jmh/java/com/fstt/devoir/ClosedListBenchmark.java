@@ -0,0 +1,101 @@
+package com.fstt.devoir;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insertion et recherche dans la closedList, en mémoire (heap) ou hors tas (mapped),
+ * sur des clés de Zobrist aléatoires. Les temps sont rapportés par clé.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClosedListBenchmark {
+
+    private static final int KEYS = 1 << 16;
+
+    @Param({"heap", "mapped"})
+    public String table;
+
+    private long[] keys;
+    // Clés absentes de la table (recherches infructueuses)
+    private long[] missingKeys;
+    private ClosedList filled;
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        keys = random.longs(KEYS).toArray();
+        missingKeys = random.longs(KEYS).toArray();
+        file = Files.createTempFile("closed-list-bench", ".tt");
+        filled = create();
+        for (long key : keys) {
+            filled.add(key, 0);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        filled.close();
+        Files.deleteIfExists(file);
+    }
+
+    private ClosedList create() {
+        return "mapped".equals(table) ? new MappedTranspositionTable(file, 4L * KEYS) : new HeapClosedList();
+    }
+
+    /**
+     * Remplissage d'une table vide (agrandissements compris pour la table en mémoire).
+     */
+    @Benchmark
+    @OperationsPerInvocation(KEYS)
+    public long insert() {
+        try (ClosedList closedList = create()) {
+            for (long key : keys) {
+                closedList.add(key, 0);
+            }
+            return closedList.size();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KEYS)
+    public int lookupHit() {
+        int found = 0;
+        for (long key : keys) {
+            if (filled.contains(key)) found++;
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KEYS)
+    public int lookupMiss() {
+        int found = 0;
+        for (long key : missingKeys) {
+            if (filled.contains(key)) found++;
+        }
+        return found;
+    }
+}
@@ -0,0 +1,110 @@
+package com.fstt.devoir;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opérations élémentaires sur un état, mesurées sur un échantillon fixe d'états du niveau "Sokoban 1".
+ * Chaque invocation traite tout l'échantillon ; les temps sont rapportés par état.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EtatBenchmark {
+
+    private static final int SAMPLES = 512;
+
+    private Level level;
+    // États au niveau des poussées (joueur normalisé)
+    private Etat[] states;
+    // Filtre qui refuse tous les successeurs (en cumulant leurs clés) ; la liste reste vide
+    private long rejectedKeys;
+    private final SuccessorFilter rejectAll = (hash, g) -> {
+        rejectedKeys ^= hash;
+        return false;
+    };
+    private final List<Etat> rejected = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        level = new Level(BenchmarkLevels.load("hard").get(0).grid);
+        List<Etat> sample = BenchmarkLevels.sampleStates(level, SAMPLES);
+        if (sample.size() < SAMPLES) {
+            throw new IllegalStateException("Échantillon trop petit: " + sample.size());
+        }
+        states = sample.toArray(new Etat[0]);
+    }
+
+    /**
+     * Successeurs en mode MOVES (déplacements et poussées).
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void generateSuccessors(Blackhole blackhole) {
+        for (Etat etat : states) {
+            blackhole.consume(etat.generateSuccessors());
+        }
+    }
+
+    /**
+     * Successeurs en mode PUSHES (zone du joueur, poussées, heuristique incrémentale).
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void generatePushes(Blackhole blackhole) {
+        for (Etat etat : states) {
+            blackhole.consume(etat.generatePushes());
+        }
+    }
+
+    /**
+     * Successeurs en mode PUSHES tous refusés par le filtre de doublons (cas le plus fréquent en fin de
+     * recherche) : clé et zone du joueur seulement, sans heuristique ni allocation.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void generatePushesRejected(Blackhole blackhole) {
+        rejectedKeys = 0;
+        for (Etat etat : states) {
+            etat.generatePushes(null, rejectAll, rejected);
+        }
+        blackhole.consume(rejectedKeys);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void getUniqueKey(Blackhole blackhole) {
+        for (Etat etat : states) {
+            blackhole.consume(etat.getUniqueKey());
+        }
+    }
+
+    /**
+     * Calcul complet de l'heuristique (ce que fait Etat.calculateHeuristic()) : couplage hongrois en O(n³).
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void calculateHeuristic(Blackhole blackhole) {
+        HungarianHeuristic heuristic = level.heuristic();
+        for (Etat etat : states) {
+            blackhole.consume(heuristic.prepare(etat.boxCells));
+        }
+    }
+}
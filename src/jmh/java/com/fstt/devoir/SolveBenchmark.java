@@ -0,0 +1,53 @@
+package com.fstt.devoir;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Résolution complète (analyse du niveau comprise) de chaque niveau d'un corpus fixe.
+ * Une solution manquante fait échouer le benchmark : une régression ne passe pas inaperçue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SolveBenchmark {
+
+    @Param({"small", "medium", "hard"})
+    public String corpus;
+
+    private List<LevelEntry> levels;
+    private SolverOptions options;
+
+    @Setup
+    public void setup() {
+        levels = BenchmarkLevels.load(corpus);
+        options = BenchmarkLevels.options();
+    }
+
+    @Benchmark
+    public void solve(Blackhole blackhole) {
+        for (LevelEntry entry : levels) {
+            Etat goal = SokobanSolver.solve(entry.grid, options);
+            if (goal == null) {
+                throw new IllegalStateException("Pas de solution pour " + entry.title);
+            }
+            blackhole.consume(goal);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.fstt.devoir;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Résolution d'une collection de niveaux en parallèle.
+ *
+ * Chaque niveau est une tâche indépendante (son propre Level, voir SokobanSolver.search(Level, ...))
+ * exécutée sur un ForkJoinPool : les threads inoccupés volent les tâches en attente, si bien qu'un
+ * niveau difficile n'empêche pas les autres d'avancer. Le budget des options (maxNodes, timeLimit,
+ * maxHeapFraction) s'applique à chaque niveau séparément ; une échéance (deadline) et un jeton
+ * d'annulation sont communs à tout le lot : une fois annulé, plus aucun niveau n'est lu et les
+ * niveaux en cours s'arrêtent avec le statut CANCELLED. Chaque niveau a son propre jeton, fils de
+ * celui des options : si le lot s'arrête avant la fin (interruption, exception), les recherches
+ * en cours sont annulées au lieu de continuer jusqu'à épuisement de leur budget.
+ *
+ * Les niveaux sont lus au fur et à mesure : au plus 2 x parallelism niveaux sont en mémoire à la fois,
+ * et chaque résultat est transmis dès que son niveau est terminé (dans l'ordre de fin, pas de lecture).
+ */
+final class BatchSolver {
+
+    /**
+     * Résultat de la résolution d'un niveau du lot.
+     */
+    static final class LevelResult {
+        // Position du niveau dans la collection (à partir de 1)
+        public final int index;
+        public final String title;
+        // null si le niveau n'a pas pu être résolu (niveau invalide ou erreur, voir 'error')
+        public final SearchResult.Status status;
+        // Nombre de poussées de la solution, ou -1 si le niveau n'est pas résolu
+        public final int pushes;
+        public final long exploredNodes;
+        public final long elapsedMillis;
+        public final String error;
+
+        LevelResult(int index, String title, SearchResult.Status status, int pushes, long exploredNodes, long elapsedMillis, String error) {
+            this.index = index;
+            this.title = title;
+            this.status = status;
+            this.pushes = pushes;
+            this.exploredNodes = exploredNodes;
+            this.elapsedMillis = elapsedMillis;
+            this.error = error;
+        }
+
+        @Override
+        public String toString() {
+            if (error != null) {
+                return String.format("%d. %s : erreur (%s)", index, title, error);
+            }
+            String issue = status == SearchResult.Status.SOLVED ? pushes + " poussées" : status.toString();
+            return String.format("%d. %s : %s, %d nœuds, %d ms", index, title, issue, exploredNodes, elapsedMillis);
+        }
+    }
+
+    private BatchSolver() {
+    }
+
+    /**
+     * Résout des grilles sans titre (nommées "Niveau n").
+     */
+    static void solveAll(Iterator<String[]> grids, SolverOptions options, int parallelism, Consumer<LevelResult> results) {
+        solveEntries(new Iterator<>() {
+            private int count;
+
+            @Override
+            public boolean hasNext() {
+                return grids.hasNext();
+            }
+
+            @Override
+            public LevelEntry next() {
+                return new LevelEntry("Niveau " + ++count, grids.next());
+            }
+        }, options, parallelism, results);
+    }
+
+    /**
+     * Résout tous les niveaux de 'levels' sur 'parallelism' threads.
+     * @param levels niveaux à résoudre (lus au fur et à mesure, par exemple depuis un LevelCollectionReader)
+     * @param options options communes à tous les niveaux (l'affichage par niveau est désactivé)
+     * @param parallelism nombre de niveaux résolus simultanément
+     * @param results reçoit chaque résultat dès qu'il est disponible (appels jamais simultanés)
+     */
+    static void solveEntries(Iterator<LevelEntry> levels, SolverOptions options, int parallelism, Consumer<LevelResult> results) {
+        if (options.closedListFile != null) {
+            // un même fichier ne peut pas servir de closedList à plusieurs niveaux à la fois
+            throw new IllegalArgumentException("closedListFile n'est pas utilisable en résolution par lot");
+        }
+        SolverOptions levelOptions = options.copy();
+        levelOptions.verbose = false;
+
+        int maxInFlight = 2 * parallelism;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        Object resultLock = new Object();
+        // Jetons des niveaux en cours de résolution
+        Set<CancellationToken> running = ConcurrentHashMap.newKeySet();
+        boolean completed = false;
+        ForkJoinPool pool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+        try {
+            int index = 0;
+            while (!isCancelled(options) && levels.hasNext()) {
+                LevelEntry entry = levels.next();
+                int levelIndex = ++index;
+                inFlight.acquire();
+                SolverOptions entryOptions = levelOptions.copy();
+                entryOptions.cancellation = new CancellationToken(options.cancellation);
+                running.add(entryOptions.cancellation);
+                pool.execute(() -> {
+                    try {
+                        LevelResult result = solveOne(levelIndex, entry, entryOptions);
+                        synchronized (resultLock) {
+                            results.accept(result);
+                        }
+                    } finally {
+                        running.remove(entryOptions.cancellation);
+                        inFlight.release();
+                    }
+                });
+            }
+            // attendre la fin des derniers niveaux
+            inFlight.acquire(maxInFlight);
+            completed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Résolution par lot interrompue", e);
+        } finally {
+            if (!completed) {
+                // les recherches ignorent les interruptions : seul leur jeton les arrête
+                running.forEach(CancellationToken::cancel);
+            }
+            pool.shutdownNow();
+        }
+    }
+
+    private static LevelResult solveOne(int index, LevelEntry entry, SolverOptions options) {
+        long start = System.nanoTime();
+        try {
+            SearchResult result = SokobanSolver.search(new Level(entry.grid), options);
+            int pushes = result.goal != null ? result.goal.g_cost : -1;
+            return new LevelResult(index, entry.title, result.status, pushes, result.exploredNodes, elapsedMillis(start), null);
+        } catch (RuntimeException e) {
+            // niveau mal formé (ou erreur du solveur) : signalé sans interrompre le lot
+            return new LevelResult(index, entry.title, null, -1, 0, elapsedMillis(start), String.valueOf(e.getMessage()));
+        } catch (Error e) {
+            // OutOfMemoryError, StackOverflowError... : les listes du niveau sont libérées avec sa pile,
+            // le niveau est noté en échec et le lot continue
+            return new LevelResult(index, entry.title, null, -1, 0, elapsedMillis(start), e.toString());
+        }
+    }
+
+    private static boolean isCancelled(SolverOptions options) {
+        return options.cancellation != null && options.cancellation.isCancelled();
+    }
+
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
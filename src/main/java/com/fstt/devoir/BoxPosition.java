@@ -3,20 +3,20 @@ package com.fstt.devoir;
 import java.util.Objects;
 
 /**
- * Représente une caisse avec sa position (ligne, colonne) et son identifiant (lettre).
- * Utile pour suivre chaque caisse séparément (par ex. 'a', 'b', 'c', 'd').
+ * Représente une caisse avec sa position (ligne, colonne) et son nom (lettre), lu dans la grille.
+ * Les caisses XSB n'ont pas de nom (NO_BOX_NAME) : elles sont identifiées par leur position.
  */
 
 class BoxPosition implements Comparable<BoxPosition> {
     public final int r;
     public final int c;
-    public final char name; // 'a', 'b', 'c', ou 'd'
+    public final char name; // 'a', 'b', ... ou SokobanSolver.NO_BOX_NAME
 
     public BoxPosition(int r, int c, char name) {
         this.r = r;
         this.c = c;
             // Stocke le nom en minuscule pour un traitement uniforme (ex: 'A' -> 'a')
-        this.name = (name >= 'A' && name <= 'D') ? SokobanSolver.BOX_TO_TARGET_MAP.get(name) : name;
+        this.name = Character.toLowerCase(name);
     }
 
     // equals et hashCode utilisés par les collections (ex: HashSet).
@@ -36,7 +36,7 @@ class BoxPosition implements Comparable<BoxPosition> {
 
     /**
      * Permet d'ordonner les caisses de façon stable.
-     * Tri par ordre : nom (lettre), ligne, colonne.
+     * Tri par ordre : nom (lettre, les caisses sans nom en premier), ligne, colonne.
      * Ceci garantit un ordre prévisible lors de la création de clés uniques.
      */
     @Override
@@ -0,0 +1,103 @@
+package com.fstt.devoir;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * openList à seaux : f_cost et h_cost sont de petits entiers positifs (nombre de poussées et
+ * couplage minimal), chaque état est rangé dans le seau de son f.
+ *
+ * Retrait : seau de plus petit f, puis selon la politique de départage (voir SolverOptions.TieBreaking) :
+ * avec LOWER_H, chaque seau est lui-même divisé par h et le plus petit h sort d'abord ; les égalités
+ * restantes sont départagées par le dernier ajouté (LIFO) ou le premier (FIFO). Ajout et retrait
+ * en O(1) amorti : les curseurs minF / minH ne reculent que lorsqu'un état plus petit est ajouté,
+ * sans tas à réordonner ni comparaisons d'objets.
+ */
+final class BucketOpenList implements OpenList {
+
+    private final boolean lowerHFirst;
+    private final boolean lastInFirst;
+    // buckets[f] : états de coût f (null tant qu'aucun état de ce f n'a été ajouté)
+    private Bucket[] buckets = new Bucket[64];
+    // Plus petit f susceptible d'être non vide
+    private int minF = Integer.MAX_VALUE;
+    private int size;
+
+    BucketOpenList(SolverOptions.TieBreaking tieBreaking) {
+        this.lowerHFirst = tieBreaking == SolverOptions.TieBreaking.LOWER_H;
+        this.lastInFirst = tieBreaking != SolverOptions.TieBreaking.FIFO;
+    }
+
+    @Override
+    public void add(Etat etat) {
+        int f = etat.f_cost;
+        if (f >= buckets.length) {
+            buckets = Arrays.copyOf(buckets, Math.max(buckets.length * 2, f + 1));
+        }
+        Bucket bucket = buckets[f];
+        if (bucket == null) {
+            bucket = new Bucket();
+            buckets[f] = bucket;
+        }
+        bucket.add(etat, lowerHFirst ? etat.h_cost : 0);
+        if (f < minF) {
+            minF = f;
+        }
+        size++;
+    }
+
+    @Override
+    public Etat poll() {
+        if (size == 0) {
+            return null;
+        }
+        while (buckets[minF] == null || buckets[minF].size == 0) {
+            minF++;
+        }
+        size--;
+        return buckets[minF].poll(lastInFirst);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * États de même f, en files indexées par h (une seule file, d'indice 0, sans départage par h).
+     */
+    private static final class Bucket {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private ArrayDeque<Etat>[] queues = new ArrayDeque[16];
+        private int minH = Integer.MAX_VALUE;
+        private int size;
+
+        void add(Etat etat, int h) {
+            if (h >= queues.length) {
+                queues = Arrays.copyOf(queues, Math.max(queues.length * 2, h + 1));
+            }
+            ArrayDeque<Etat> queue = queues[h];
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                queues[h] = queue;
+            }
+            queue.addLast(etat);
+            if (h < minH) {
+                minH = h;
+            }
+            size++;
+        }
+
+        Etat poll(boolean lastInFirst) {
+            while (queues[minH] == null || queues[minH].isEmpty()) {
+                minH++;
+            }
+            Etat etat = lastInFirst ? queues[minH].pollLast() : queues[minH].pollFirst();
+            size--;
+            if (size == 0) {
+                minH = Integer.MAX_VALUE;
+            }
+            return etat;
+        }
+    }
+}
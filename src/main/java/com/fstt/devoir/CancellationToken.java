@@ -0,0 +1,38 @@
+package com.fstt.devoir;
+
+/**
+ * Demande d'arrêt d'une recherche, depuis un autre thread.
+ *
+ * La recherche consulte le jeton à chaque nœud (voir SearchBudget) et s'arrête proprement avec
+ * le statut CANCELLED : les listes sont libérées et les métriques restent cohérentes.
+ * Un même jeton peut être partagé par plusieurs recherches (par exemple tout un lot). Un jeton
+ * peut aussi dépendre d'un parent : il est annulé dès que son parent l'est (jeton propre à un
+ * niveau d'un lot, annulable seul, qui suit l'annulation du lot).
+ */
+final class CancellationToken {
+
+    private final CancellationToken parent;
+    private volatile boolean cancelled;
+
+    public CancellationToken() {
+        this(null);
+    }
+
+    /**
+     * @param parent jeton dont l'annulation annule aussi celui-ci (ou null)
+     */
+    public CancellationToken(CancellationToken parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Demande l'arrêt des recherches qui utilisent ce jeton (définitif).
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled || (parent != null && parent.isCancelled());
+    }
+}
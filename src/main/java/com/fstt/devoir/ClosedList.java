@@ -0,0 +1,55 @@
+package com.fstt.devoir;
+
+/**
+ * closedList de l'A* : clés de Zobrist des états déjà développés, avec le meilleur coût g
+ * connu pour chacune. Un état retrouvé avec un g strictement plus faible est rouvert : la solution
+ * reste optimale même si l'heuristique n'est pas cohérente (un état peut alors être fermé avec un g trop grand).
+ * Deux implémentations :
+ * - HeapClosedList : table en mémoire (LongIntHashMap),
+ * - MappedTranspositionTable : table hors tas, projetée en mémoire depuis un fichier local,
+ *   pour les recherches dont l'ensemble des états visités ne tient pas dans le tas.
+ */
+interface ClosedList extends AutoCloseable {
+
+    // Valeur renvoyée par bestG() pour une clé absente
+    int ABSENT = -1;
+
+    /**
+     * Ferme l'état de clé 'key' atteint avec le coût 'g'.
+     * @return vrai si la clé était absente ou connue avec un g plus grand (l'état doit être développé),
+     * faux si elle était déjà fermée avec un g inférieur ou égal
+     */
+    boolean add(long key, int g);
+
+    /**
+     * Meilleur coût g enregistré pour la clé, ou ABSENT.
+     */
+    int bestG(long key);
+
+    default boolean contains(long key) {
+        return bestG(key) != ABSENT;
+    }
+
+    /**
+     * Vrai si l'état de clé 'key', atteint avec le coût 'g', n'a pas à être rouvert
+     * (déjà fermé avec un g inférieur ou égal).
+     */
+    default boolean isClosed(long key, int g) {
+        int best = bestG(key);
+        return best != ABSENT && best <= g;
+    }
+
+    long size();
+
+    /**
+     * Description de l'occupation de la table (pour l'affichage).
+     */
+    String stats();
+
+    /**
+     * Libère les ressources de la table (fichier, projection mémoire).
+     */
+    @Override
+    default void close() {
+    }
+}
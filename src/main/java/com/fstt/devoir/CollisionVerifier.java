@@ -0,0 +1,40 @@
+package com.fstt.devoir;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mode de vérification des collisions de Zobrist.
+ * Conserve en parallèle de la closedList les clés texte exactes (getUniqueKey) et leur meilleur g :
+ * lorsque la clé 64 bits et la clé exacte ne donnent pas la même réponse,
+ * c'est une collision. La réponse exacte est alors utilisée.
+ */
+final class CollisionVerifier {
+
+    private final Map<String, Integer> exactKeys = new HashMap<>();
+    private long collisions;
+
+    /**
+     * Confronte la réponse de la closedList (hashSeen) à la clé exacte de l'état.
+     * @return vrai si l'état a réellement déjà été fermé avec un g inférieur ou égal au sien
+     */
+    public boolean isClosed(boolean hashSeen, Etat etat) {
+        Integer best = exactKeys.get(etat.getUniqueKey());
+        boolean seen = best != null && best <= etat.g_cost;
+        if (seen != hashSeen) {
+            collisions++;
+        }
+        return seen;
+    }
+
+    /**
+     * Enregistre l'état comme fermé avec son coût g.
+     */
+    public void add(Etat etat) {
+        exactKeys.merge(etat.getUniqueKey(), etat.g_cost, Math::min);
+    }
+
+    public long collisions() {
+        return collisions;
+    }
+}
@@ -5,95 +5,69 @@ import java.util.*;
 /**
  * Représente un état du plateau pour l'algorithme A*.
  * Un état contient :
- * - la position du joueur,
- * - l'ensemble des caisses (position + nom),
- * - la grille visuelle locale et les coûts A* (g, h, f),
- * ainsi que le parent et l'action utilisée pour arriver ici.
+ * - la position du joueur (numéro de case),
+ * - l'occupation des caisses (bitboard) et la case de chaque caisse nommée,
+ * - les coûts A* (g, h, f),
+ * ainsi que le parent et le mouvement utilisé pour arriver ici.
  */
 class Etat implements Comparable<Etat> {
 
-    // --- Données partagées entre tous les états ---
-    // La grille statique (murs et cibles) ne change pas pendant la recherche.
-    private static char[][] STATIC_BOARD;
-    // Positions des cibles sur le plateau (constantes pour le niveau).
-    private static Set<Position> TARGETS = new HashSet<>();
-    private static int ROWS;
-    private static int COLS;
+    // --- Données partagées entre tous les états d'une même recherche ---
+    // Le niveau (murs, cibles, numérotation des cases) est immuable : plusieurs niveaux
+    // peuvent être résolus en même temps, chacun avec son propre Level.
+    public final Level level;
 
     // --- État spécifique à cette instance ---
-    // 'board' contient l'affichage local (joueur, caisses) basé sur STATIC_BOARD.
-    public char[][] board; // grille affichée pour cet état
-    public int playerR, playerC; // position du joueur
-    // ensemble immuable (conceptuellement) des caisses : position + nom
-    public Set<BoxPosition> boxCoords;
+    // Le joueur est un numéro de case (voir Level), les caisses un bitboard d'occupation.
+    public int player; // case du joueur
+    // boxBits : bit i à 1 si la case i contient une caisse (test d'occupation en O(1))
+    public long[] boxBits;
+    // boxCells[k] : case de la caisse d'indice k (nom = level.boxNames[k])
+    // Ces deux tableaux sont partagés entre un état et ses successeurs MOVE (copie uniquement sur PUSH).
+    public int[] boxCells;
+    // Clé de Zobrist de l'état (joueur + caisses), tenue à jour incrémentalement
+    public long hash;
 
     // --- Coûts pour A* ---
     // g_cost : coût réel depuis l'état initial (ici le nombre de poussées)
-    // h_cost : heuristique estimée (somme des distances de Manhattan)
+    // h_cost : heuristique estimée (couplage minimal caisses -> cibles)
     // f_cost : g + h, utilisé pour ordonner la PriorityQueue
     public int g_cost;
     public int h_cost;
     public int f_cost;
+    // Rang d'insertion dans l'openList en tas (départage LIFO / FIFO, voir HeapOpenList)
+    public int sequence;
 
     // --- Traçabilité pour reconstruire la solution ---
-    // 'parent' pointe vers l'état précédent. 'action' décrit le mouvement (ex: "PUSH 'a' UP").
+    // 'parent' pointe vers l'état précédent. 'move' code le mouvement (direction, poussée, caisse :
+    // voir Move) ; il n'est converti en texte (ex: "PUSH 'a' UP") qu'à l'affichage de la solution.
     public Etat parent;
-    public String action;
+    public int move;
+    // Clé de Zobrist du parent : seul lien conservé quand 'parent' est effacé (SolverOptions.compactPaths)
+    public long parentHash;
 
     /**
     * Constructeur initial à partir de la représentation textuelle du niveau.
-    * Sépare les éléments statiques (murs, cibles) des éléments mobiles (joueur, caisses)
-    * et initialise les coûts A*.
+    * Les éléments statiques (murs, cibles) sont analysés une fois dans un Level partagé,
+    * seuls le joueur et les caisses sont conservés dans l'état.
      */
     public Etat(String[] level) {
-        this.ROWS = level.length;
-        this.COLS = level[0].length();
-        this.board = new char[ROWS][COLS];
-        this.boxCoords = new HashSet<>();
-
-        // Initialisation unique des structures statiques (plateau et cibles)
-        // lors de la création du premier Etat pour ce niveau.
-        if (STATIC_BOARD == null) {
-            STATIC_BOARD = new char[ROWS][COLS];
-
-            for (int r = 0; r < ROWS; r++) {
-                for (int c = 0; c < COLS; c++) {
-                    char cell = level[r].charAt(c);
-
-                    if (cell == SokobanSolver.WALL) {
-                        STATIC_BOARD[r][c] = SokobanSolver.WALL;
-                    } else if (cell == SokobanSolver.TARGET || cell == SokobanSolver.PLAYER_ON_TARGET || (cell >= 'A' && cell <= 'D')) {
-                        // cible ou objet posé sur une cible -> marquer comme TARGET
-                        STATIC_BOARD[r][c] = SokobanSolver.TARGET;
-                        TARGETS.add(new Position(r, c));
-                    } else {
-                        // sol libre
-                        STATIC_BOARD[r][c] = SokobanSolver.FLOOR;
-                    }
-                }
-            }
-        }
+        this(new Level(level));
+    }
 
-        // Analyse les éléments MOBILES (Joueur, Caisses)
-        for (int r = 0; r < ROWS; r++) {
-            for (int c = 0; c < COLS; c++) {
-                char cell = level[r].charAt(c);
-
-                if (cell == SokobanSolver.PLAYER || cell == SokobanSolver.PLAYER_ON_TARGET) {
-                    // position du joueur (sur cible ou non)
-                    this.playerR = r;
-                    this.playerC = c;
-                    this.board[r][c] = STATIC_BOARD[r][c] == SokobanSolver.TARGET ? SokobanSolver.PLAYER_ON_TARGET : SokobanSolver.PLAYER;
-                } else if (SokobanSolver.isBoxSymbol(cell)) {
-                    // caisse trouvée : l'ajouter à l'ensemble avec son nom
-                    this.boxCoords.add(new BoxPosition(r, c, SokobanSolver.getBoxName(cell)));
-                    // afficher la caisse (majuscule si sur cible)
-                    this.board[r][c] = STATIC_BOARD[r][c] == SokobanSolver.TARGET ? SokobanSolver.BOX_TO_TARGET_MAP.get(SokobanSolver.getBoxName(cell)) : SokobanSolver.getBoxName(cell);
-                } else {
-                    // mur ou sol statique -> utiliser STATIC_BOARD
-                    this.board[r][c] = STATIC_BOARD[r][c];
-                }
-            }
+    /**
+     * État initial d'un niveau déjà analysé.
+     */
+    public Etat(Level level) {
+        this.level = level;
+
+        this.player = level.initialPlayer;
+        this.boxCells = level.initialBoxes.clone();
+        this.boxBits = new long[level.words];
+        this.hash = level.zobristPlayer(player);
+        for (int k = 0; k < boxCells.length; k++) {
+            Level.set(boxBits, boxCells[k]);
+            hash ^= level.zobristBox(k, boxCells[k]);
         }
 
         // Coûts initiaux : aucune poussée (g=0), heuristique calculée
@@ -101,49 +75,55 @@ class Etat implements Comparable<Etat> {
         this.h_cost = calculateHeuristic();
         this.f_cost = this.g_cost + this.h_cost;
         this.parent = null;
-        this.action = null;
+        this.move = Move.NONE;
     }
 
     /**
-     * Copie profonde d'un état existant. Utilisé pour générer successeurs.
-     * Le champ 'parent' est fixé à l'état source.
+     * Copie d'un état existant. Utilisé pour générer successeurs.
+     * Le champ 'parent' est fixé à l'état source. Les caisses sont partagées :
+     * une poussée doit appeler copyBoxes() avant de les modifier.
      */
     public Etat(Etat other) {
         this.parent = other; // Le parent est l'état 'other'
+        this.parentHash = other.hash;
+        this.level = other.level;
         this.g_cost = other.g_cost; // g_cost sera incrémenté si PUSH
+        this.h_cost = other.h_cost; // h ne change que si une caisse bouge
 
-        // Copie simple
-        this.playerR = other.playerR;
-        this.playerC = other.playerC;
-
-        // Copie profonde de la grille (board)
-        this.board = new char[ROWS][COLS];
-        for (int i = 0; i < ROWS; i++) {
-            System.arraycopy(other.board[i], 0, this.board[i], 0, COLS);
-        }
+        this.player = other.player;
+        this.hash = other.hash;
+        this.boxBits = other.boxBits;
+        this.boxCells = other.boxCells;
+    }
 
-        // Copier les caisses (BoxPosition est immuable dans notre conception)
-        this.boxCoords = new HashSet<>();
-        for (BoxPosition box : other.boxCoords) {
-            this.boxCoords.add(box);
-        }
+    /**
+     * Duplique les caisses avant une modification (copie à l'écriture).
+     */
+    private void copyBoxes() {
+        this.boxBits = this.boxBits.clone();
+        this.boxCells = this.boxCells.clone();
     }
 
     /**
-     * Crée une clé texte unique pour l'état : position du joueur + positions triées des caisses.
-     * Cette clé sert à détecter les états déjà visités (closedList).
+     * Crée une clé texte unique pour l'état : position du joueur + positions des caisses.
+     * La closedList utilise la clé de Zobrist ('hash') ; cette clé exacte ne sert plus
+     * qu'au mode de vérification des collisions.
+     * Les caisses sont déjà rangées par nom (indice), aucun tri n'est nécessaire.
+     * Avec des caisses interchangeables, seules les cases occupées comptent (dans l'ordre des cases).
      */
     public String getUniqueKey() {
         StringBuilder sb = new StringBuilder();
-        sb.append("P").append(playerR).append(",").append(playerC);
-
-    // On tri les caisses pour garantir qu'une même configuration
-    // produira toujours la même clé, indépendamment de l'ordre interne.
-        List<BoxPosition> sortedBoxes = new ArrayList<>(boxCoords);
-        Collections.sort(sortedBoxes); // Utilise 'compareTo' de BoxPosition
-
-        for (BoxPosition c : sortedBoxes) {
-            sb.append("_B").append(c.name).append("(").append(c.r).append(",").append(c.c).append(")");
+        sb.append("P").append(player);
+        if (level.identicalBoxes) {
+            for (int cell = 0; cell < level.cellCount; cell++) {
+                if (Level.test(boxBits, cell)) {
+                    sb.append("_B").append(cell);
+                }
+            }
+            return sb.toString();
+        }
+        for (int k = 0; k < boxCells.length; k++) {
+            sb.append("_B").append(k).append(':').append(boxCells[k]);
         }
         return sb.toString();
     }
@@ -152,10 +132,9 @@ class Etat implements Comparable<Etat> {
      * Retourne vrai si toutes les caisses sont placées sur des cibles.
      */
     public boolean isGoal() {
-        // Le but est atteint si TOUTES les positions des caisses
-        // sont DANS l'ensemble des positions des CIBLES.
-        for (BoxPosition box : boxCoords) {
-            if (!TARGETS.contains(new Position(box.r, box.c))) {
+        // Le but est atteint si aucune caisse n'occupe une case hors cible.
+        for (int w = 0; w < boxBits.length; w++) {
+            if ((boxBits[w] & ~level.targetBits[w]) != 0) {
                 return false; // Une caisse n'est pas sur une cible
             }
         }
@@ -163,33 +142,12 @@ class Etat implements Comparable<Etat> {
     }
 
     /**
-     * Heuristique : somme des distances de Manhattan entre chaque caisse
-     * et la cible la plus proche. Estimation optimiste du nombre de poussées restantes.
+     * Heuristique : coût du couplage parfait minimal entre caisses et cibles
+     * (chaque cible ne peut recevoir qu'une caisse). Estimation optimiste du nombre de poussées restantes.
+     * Calcul complet ; les successeurs d'une poussée utilisent la mise à jour incrémentale.
      */
     private int calculateHeuristic() {
-        int h = 0;
-
-        // Pour chaque caisse...
-        for (BoxPosition box : boxCoords) {
-            int minManhattan = Integer.MAX_VALUE;
-
-            // ...trouver la distance à la CIBLE la plus proche
-            for (Position target : TARGETS) {
-                // Si la caisse est déjà sur cette cible, la distance est 0
-                if (box.r == target.r && box.c == target.c) {
-                    minManhattan = 0;
-                    break;
-                }
-
-                // Distance de Manhattan: |x1 - x2| + |y1 - y2|
-                int manhattan = Math.abs(box.r - target.r) + Math.abs(box.c - target.c);
-                if (manhattan < minManhattan) {
-                    minManhattan = manhattan;
-                }
-            }
-            h += minManhattan;
-        }
-        return h;
+        return level.heuristic().prepare(boxCells);
     }
 
     /**
@@ -200,111 +158,367 @@ class Etat implements Comparable<Etat> {
      */
     public List<Etat> generateSuccessors() {
         List<Etat> successors = new ArrayList<>();
+        generateSuccessors(null, SuccessorFilter.ALL, successors);
+        return successors;
+    }
+
+    /**
+     * Comme generateSuccessors(), en ajoutant à 'successors' (liste réutilisable) les seuls successeurs
+     * acceptés par 'filter' : la clé de chaque successeur est calculée avant toute allocation.
+     * Les successeurs générés, impasses éliminées et temps d'heuristique sont comptés dans 'metrics' (si non null).
+     */
+    public void generateSuccessors(SearchMetrics metrics, SuccessorFilter filter, List<Etat> successors) {
+        // Couplage de cet état, calculé à la première poussée acceptée par le filtre puis mis à jour par successeur
+        HungarianHeuristic heuristic = null;
+        int generated = 0;
 
         // Itération sur les 4 directions (Haut, Bas, Gauche, Droite)
         for (int i = 0; i < 4; i++) {
-            int dr = SokobanSolver.DIRS[i][0];
-            int dc = SokobanSolver.DIRS[i][1];
-            String actionDirection = SokobanSolver.DIR_NAMES[i];
-
             // Case adjacente vers laquelle le joueur souhaite se déplacer
-            int nextPR = playerR + dr;
-            int nextPC = playerC + dc;
+            int next = level.neighbor(player, i);
 
             // Si c'est un mur, mouvement impossible
-            if (STATIC_BOARD[nextPR][nextPC] == SokobanSolver.WALL) {
+            if (next < 0) {
                 continue;
             }
 
-            char cellAtNextPos = this.board[nextPR][nextPC];
-
             // --- CAS 1 : pousser une caisse (si la case adjacente contient une caisse)
-            if (SokobanSolver.isBoxSymbol(cellAtNextPos)) {
+            if (Level.test(boxBits, next)) {
 
                 // Position derrière la caisse (cible de la poussée)
-                int targetR = nextPR + dr;
-                int targetC = nextPC + dc;
-
-        // Vérifier que la case derrière la caisse est libre (pas mur, pas autre caisse)
-                if (STATIC_BOARD[targetR][targetC] != SokobanSolver.WALL &&
-                        !SokobanSolver.isBoxSymbol(this.board[targetR][targetC]))
-                {
-                    // --- Poussée valide ---
-                    Etat newState = new Etat(this); // Crée une copie
-
-                    // Une poussée coûte 1 (g_cost représente le nombre de poussées)
-                    newState.g_cost += 1;
-
-                    // Trouver la caisse qui est poussée
-                    BoxPosition boxToPush = null;
-                    for(BoxPosition b : newState.boxCoords) {
-                        if(b.r == nextPR && b.c == nextPC) {
-                            boxToPush = b;
-                            break;
-                        }
+                int target = level.neighbor(next, i);
+
+                // Vérifier que la case derrière la caisse est libre (pas mur, pas autre caisse)
+                // et qu'elle n'est pas une case morte (la caisse n'atteindrait plus aucune cible)
+                if (target >= 0 && !Level.test(boxBits, target) && !level.isDeadSquare(target)) {
+                    // --- Poussée valide --- (le joueur se place là où était la caisse)
+                    int k = indexOfBox(next);
+                    if (isFrozen(next, target, metrics)) {
+                        continue;
                     }
+                    generated++;
+                    long newHash = pushHash(k, next, target, next);
+                    if (!filter.accept(newHash, g_cost + 1)) {
+                        continue;
+                    }
+                    if (heuristic == null) {
+                        heuristic = level.heuristic();
+                        prepareHeuristic(heuristic, metrics);
+                    }
+                    Etat newState = push(k, i, next, next, newHash, heuristic, metrics);
+                    if (newState != null) {
+                        successors.add(newState);
+                    }
+                } else if (metrics != null && target >= 0 && !Level.test(boxBits, target)) {
+                    metrics.deadlockPruned(); // case morte
+                }
+            }
+            // --- CAS 2 : déplacement simple du joueur (MOVE) ---
+            else {
+                generated++;
+                long newHash = hash ^ level.zobristPlayer(player) ^ level.zobristPlayer(next);
+                if (!filter.accept(newHash, g_cost)) {
+                    continue;
+                }
+                Etat newState = new Etat(this); // Crée une copie (caisses partagées)
+                newState.move = Move.walk(i); // Déplacement (pas de coût)
 
-                    newState.action = "PUSH '" + boxToPush.name + "' " + actionDirection;
+                // Les déplacements sans pousser ne changent ni g ni h (on ne compte que les poussées)
+                newState.player = next;
+                newState.hash = newHash;
+                newState.f_cost = newState.g_cost + newState.h_cost;
 
-                    // 1) Mettre à jour l'ensemble des caisses : retirer l'ancienne et ajouter la nouvelle
-                    newState.boxCoords.remove(boxToPush);
-                    newState.boxCoords.add(new BoxPosition(targetR, targetC, boxToPush.name));
+                successors.add(newState);
+            }
+        }
+        if (metrics != null) {
+            metrics.nodesGenerated(generated);
+        }
+    }
 
-                    // 2) Mettre à jour la position du joueur (il se place là où était la caisse)
-                    newState.playerR = nextPR;
-                    newState.playerC = nextPC;
+    /**
+     * Recherche au niveau des poussées : génère uniquement les poussées possibles
+     * depuis la zone accessible au joueur. Chaque successeur a sa position de joueur
+     * normalisée (plus petite case de sa zone), les déplacements intermédiaires ne sont
+     * pas représentés et seront reconstruits par BFS lors de l'affichage (voir Solution).
+     */
+    public List<Etat> generatePushes() {
+        List<Etat> successors = new ArrayList<>();
+        generatePushes(null, SuccessorFilter.ALL, successors);
+        return successors;
+    }
 
-                    // 3) Mettre à jour la grille affichée :
-                    // A) ancienne position du joueur redevient sol ou cible
-                    newState.board[playerR][playerC] = STATIC_BOARD[playerR][playerC]; // (devient T ou □)
+    /**
+     * Comme generatePushes(), en ajoutant à 'successors' (liste réutilisable) les seuls successeurs
+     * acceptés par 'filter' : la clé de chaque successeur (joueur normalisé compris) est calculée
+     * avant toute allocation.
+     * Les successeurs générés, impasses éliminées et temps d'heuristique sont comptés dans 'metrics' (si non null).
+     */
+    public void generatePushes(SearchMetrics metrics, SuccessorFilter filter, List<Etat> successors) {
+        Reachability reach = level.reachability();
+        reach.fill(player, boxBits);
+
+        // 1) Relever les poussées valides (k * 4 + direction) avant de réutiliser les tampons de 'reach'
+        int[] pushes = level.pushBuffer();
+        int count = 0;
+        for (int k = 0; k < boxCells.length; k++) {
+            int box = boxCells[k];
+            for (int d = 0; d < 4; d++) {
+                // le joueur doit pouvoir se placer derrière la caisse...
+                int behind = level.neighbor(box, d ^ 1);
+                // ...et la case devant la caisse doit être libre et vivante
+                int target = level.neighbor(box, d);
+                if (behind >= 0 && reach.reached(behind) && target >= 0 && !Level.test(boxBits, target)) {
+                    if (!level.isDeadSquare(target)) {
+                        pushes[count++] = k * 4 + d;
+                    } else if (metrics != null) {
+                        metrics.deadlockPruned();
+                    }
+                }
+            }
+        }
 
-                    // B) l'emplacement de la caisse devient la position du joueur
-                    newState.board[nextPR][nextPC] = (STATIC_BOARD[nextPR][nextPC] == SokobanSolver.TARGET) ? SokobanSolver.PLAYER_ON_TARGET : SokobanSolver.PLAYER;
+        // 2) Construire les successeurs acceptés, joueur normalisé ; le couplage de cet état n'est calculé
+        // qu'à la première poussée acceptée par le filtre (aucun si toutes sont des doublons)
+        HungarianHeuristic heuristic = null;
+        int generated = 0;
+        for (int p = 0; p < count; p++) {
+            int k = pushes[p] >>> 2, d = pushes[p] & 3;
+            int from = boxCells[k];
+            int target = level.neighbor(from, d);
+            if (isFrozen(from, target, metrics)) {
+                continue;
+            }
+            generated++;
+            int newPlayer = normalizedPlayer(from, target);
+            long newHash = pushHash(k, from, target, newPlayer);
+            if (!filter.accept(newHash, g_cost + 1)) {
+                continue;
+            }
+            if (heuristic == null) {
+                heuristic = level.heuristic();
+                prepareHeuristic(heuristic, metrics);
+            }
+            Etat newState = push(k, d, from, newPlayer, newHash, heuristic, metrics);
+            if (newState != null) {
+                successors.add(newState);
+            }
+        }
+        if (metrics != null) {
+            metrics.nodesGenerated(generated);
+        }
+    }
 
-            // C) nouvelle position de la caisse (majuscule si sur cible)
-                    newState.board[targetR][targetC] = (STATIC_BOARD[targetR][targetC] == SokobanSolver.TARGET)
-                            ? SokobanSolver.BOX_TO_TARGET_MAP.get(boxToPush.name) // (devient 'A', 'B'...)
-                            : boxToPush.name; // (devient 'a', 'b'...)
+    /**
+     * Successeur obtenu en rejouant le mouvement 'move' (voir Move), qui doit être valide.
+     * Sert à reconstruire une solution trouvée sans arbre d'états (IDA*, SolverOptions.compactPaths).
+     * @param pushLevel vrai en recherche par poussées (joueur normalisé après chaque poussée)
+     */
+    Etat successor(int move, boolean pushLevel) {
+        int dir = Move.direction(move);
+        if (!Move.isPush(move)) {
+            int next = level.neighbor(player, dir);
+            if (move == Move.NONE || next < 0 || Level.test(boxBits, next)) {
+                throw new IllegalStateException("Déplacement invalide: " + Move.toString(level, move));
+            }
+            Etat newState = new Etat(this);
+            newState.move = move;
+            newState.player = next;
+            newState.hash ^= level.zobristPlayer(player) ^ level.zobristPlayer(next);
+            newState.f_cost = newState.g_cost + newState.h_cost;
+            return newState;
+        }
+        int k = Move.box(move);
+        int from = boxCells[k];
+        int target = level.neighbor(from, dir);
+        Etat newState = null;
+        if (target >= 0 && !Level.test(boxBits, target) && !isFrozen(from, target, null)) {
+            HungarianHeuristic heuristic = level.heuristic();
+            heuristic.prepare(boxCells);
+            int newPlayer = pushLevel ? normalizedPlayer(from, target) : from;
+            newState = push(k, dir, from, newPlayer, pushHash(k, from, target, newPlayer), heuristic, null);
+        }
+        if (newState == null) {
+            throw new IllegalStateException("Poussée invalide: " + Move.toString(level, move));
+        }
+        return newState;
+    }
 
-                    // 4) recalculer heuristique et coût total
-                    newState.h_cost = newState.calculateHeuristic();
-                    newState.f_cost = newState.g_cost + newState.h_cost;
+    /**
+     * Rejoue les mouvements 'moves' depuis cet état et produit la chaîne d'états (parent -> enfant)
+     * attendue par la reconstruction de la solution.
+     * @return le dernier état de la chaîne
+     */
+    Etat replay(int[] moves, boolean pushLevel) {
+        Etat courant = this;
+        for (int move : moves) {
+            courant = courant.successor(move, pushLevel);
+        }
+        return courant;
+    }
 
-                    successors.add(newState);
-                }
+    /**
+     * Remplace la position du joueur par la plus petite case de sa zone accessible.
+     * Deux états qui ne diffèrent que par la position du joueur dans une même zone
+     * deviennent ainsi identiques (même clé de Zobrist).
+     */
+    public void normalizePlayer() {
+        int normalized = level.reachability().fill(player, boxBits);
+        hash ^= level.zobristPlayer(player) ^ level.zobristPlayer(normalized);
+        player = normalized;
+    }
+
+    /**
+     * Position normalisée du joueur après la poussée de la caisse de 'from' vers 'to' (le joueur sur 'from').
+     * Les caisses de cet état sont modifiées le temps du remplissage puis restaurées : aucune copie.
+     */
+    private int normalizedPlayer(int from, int to) {
+        Level.clear(boxBits, from);
+        Level.set(boxBits, to);
+        int normalized = level.reachability().fill(from, boxBits);
+        Level.clear(boxBits, to);
+        Level.set(boxBits, from);
+        return normalized;
+    }
+
+    /**
+     * Vrai si pousser la caisse de 'from' vers 'to' gèle un groupe de caisses hors cible
+     * (la caisse poussée et ses voisines ne peuvent plus bouger).
+     */
+    private boolean isFrozen(int from, int to, SearchMetrics metrics) {
+        if (!level.freezeDetector().isDeadlock(boxBits, from, to)) {
+            return false;
+        }
+        if (metrics != null) {
+            metrics.deadlockPruned();
+        }
+        return true;
+    }
+
+    /**
+     * Clé de Zobrist du successeur obtenu en poussant la caisse 'k' de 'from' vers 'to', le joueur sur 'newPlayer'
+     * (retirer les anciennes positions, ajouter les nouvelles) : calculée, puis soumise au filtre, avant tout
+     * calcul d'heuristique.
+     */
+    private long pushHash(int k, int from, int to, int newPlayer) {
+        return hash ^ level.zobristBox(k, from) ^ level.zobristBox(k, to)
+                ^ level.zobristPlayer(player) ^ level.zobristPlayer(newPlayer);
+    }
+
+    /**
+     * Crée le successeur obtenu en poussant la caisse 'k' (située sur 'from') dans la direction 'dir',
+     * le joueur se retrouvant sur 'newPlayer' ('from', ou la position normalisée de sa zone).
+     * La case d'arrivée doit être libre ; 'heuristic' doit avoir été préparée avec les caisses de cet état.
+     * Ordre des contrôles, du moins coûteux au plus coûteux : clé de Zobrist et filtre (pushHash(), chez
+     * l'appelant, avant même la préparation du couplage), heuristique, allocation.
+     * @return le successeur, ou null s'il mène à une impasse (une caisse ne peut plus atteindre de cible)
+     */
+    private Etat push(int k, int dir, int from, int newPlayer, long newHash, HungarianHeuristic heuristic,
+                      SearchMetrics metrics) {
+        int target = level.neighbor(from, dir);
+
+        // Heuristique (une seule caisse a bougé) : une impasse n'est même pas allouée
+        int h;
+        if (metrics == null) {
+            h = heuristic.evaluateMove(k, target);
+        } else {
+            long start = System.nanoTime();
+            h = heuristic.evaluateMove(k, target);
+            metrics.heuristicEvaluated(System.nanoTime() - start);
+        }
+        if (h == HungarianHeuristic.UNSOLVABLE) {
+            if (metrics != null) {
+                metrics.deadlockPruned();
             }
-            // --- CAS 2 : déplacement simple du joueur (MOVE) ---
-            else {
-                Etat newState = new Etat(this); // Crée une copie
-                newState.action = "MOVE " + actionDirection; // Action (pas de coût)
+            return null;
+        }
 
-                // Les déplacements sans pousser ne changent pas le coût g (on ne compte que les poussées)
+        Etat newState = new Etat(this); // Crée une copie
+        newState.copyBoxes();
 
-                // Mettre à jour la position du joueur sur la copie
-                newState.playerR = nextPR;
-                newState.playerC = nextPC;
+        // Une poussée coûte 1 (g_cost représente le nombre de poussées)
+        newState.g_cost += 1;
+        newState.move = Move.push(k, dir);
 
-                // Mettre à jour la grille affichée : ancienne et nouvelle position du joueur
-                newState.board[playerR][playerC] = STATIC_BOARD[playerR][playerC]; // (devient T ou □)
-                // B. Nouvelle position du Joueur
-                newState.board[nextPR][nextPC] = (STATIC_BOARD[nextPR][nextPC] == SokobanSolver.TARGET) ? SokobanSolver.PLAYER_ON_TARGET : SokobanSolver.PLAYER;
+        // 1) Mettre à jour les caisses : déplacer le bit et la case de la caisse
+        Level.clear(newState.boxBits, from);
+        Level.set(newState.boxBits, target);
+        newState.boxCells[k] = target;
 
-                // recalculer h et f (h reste identique si seules les cases du joueur changent)
-                newState.h_cost = newState.calculateHeuristic();
-                newState.f_cost = newState.g_cost + newState.h_cost;
+        // 2) Mettre à jour la position du joueur et la clé
+        newState.player = newPlayer;
+        newState.hash = newHash;
 
-                successors.add(newState);
+        // 3) heuristique et coût total
+        newState.h_cost = h;
+        newState.f_cost = newState.g_cost + newState.h_cost;
+        return newState;
+    }
+
+    private void prepareHeuristic(HungarianHeuristic heuristic, SearchMetrics metrics) {
+        if (metrics == null) {
+            heuristic.prepare(boxCells);
+            return;
+        }
+        long start = System.nanoTime();
+        heuristic.prepare(boxCells);
+        metrics.heuristicEvaluated(System.nanoTime() - start);
+    }
+
+    /**
+     * Indice de la caisse située sur 'cell' (la case doit contenir une caisse).
+     */
+    private int indexOfBox(int cell) {
+        for (int k = 0; k < boxCells.length; k++) {
+            if (boxCells[k] == cell) {
+                return k;
             }
         }
-        return successors;
+        throw new IllegalStateException("Aucune caisse sur la case " + cell);
+    }
+
+    /**
+     * Reconstruit la grille affichable (murs, cibles, joueur et caisses) de cet état.
+     * Uniquement utilisé pour l'affichage : la recherche ne manipule pas de char[][].
+     */
+    public char[][] toBoard() {
+        return toBoard(player);
     }
 
     /**
-     * Comparateur pour la PriorityQueue.
-     * Compare les états par 'f_cost' (le plus bas en premier).
+     * Comme toBoard(), avec le joueur affiché sur 'playerCell'
+     * (utile en recherche par poussées, où 'player' est une position normalisée).
+     */
+    public char[][] toBoard(int playerCell) {
+        char[][] board = new char[level.rows][];
+        for (int r = 0; r < level.rows; r++) {
+            board[r] = level.staticBoard[r].clone();
+        }
+        int pr = level.cellRow[playerCell], pc = level.cellCol[playerCell];
+        board[pr][pc] = level.isTarget(playerCell) ? SokobanSolver.PLAYER_ON_TARGET : SokobanSolver.PLAYER;
+        for (int k = 0; k < boxCells.length; k++) {
+            int box = boxCells[k];
+            // afficher la caisse (majuscule si sur cible ; '$' / '*' pour une caisse sans nom)
+            char name = level.boxNames[k];
+            if (name == SokobanSolver.NO_BOX_NAME) {
+                name = level.isTarget(box) ? SokobanSolver.ANONYMOUS_BOX_ON_TARGET : SokobanSolver.ANONYMOUS_BOX;
+            } else if (level.isTarget(box)) {
+                name = Character.toUpperCase(name);
+            }
+            board[level.cellRow[box]][level.cellCol[box]] = name;
+        }
+        return board;
+    }
+
+    /**
+     * Ordre naturel : par 'f_cost' (le plus bas en premier), puis par 'h_cost' à f égal
+     * (l'état le plus avancé d'abord, voir SolverOptions.TieBreaking.LOWER_H).
      */
     @Override
     public int compareTo(Etat other) {
-        return Integer.compare(this.f_cost, other.f_cost);
+        if (this.f_cost != other.f_cost) {
+            return Integer.compare(this.f_cost, other.f_cost);
+        }
+        return Integer.compare(this.h_cost, other.h_cost);
     }
-}
\ No newline at end of file
+}
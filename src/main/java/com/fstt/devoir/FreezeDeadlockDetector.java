@@ -0,0 +1,137 @@
+package com.fstt.devoir;
+
+/**
+ * Détection des impasses par gel (freeze deadlocks) après une poussée.
+ *
+ * Une caisse est gelée si elle est bloquée sur ses deux axes : sur un axe, elle est bloquée
+ * si l'une de ses voisines est un mur, si ses deux voisines sont des cases mortes, ou si
+ * l'une de ses voisines est une caisse elle-même gelée (la caisse courante comptant alors
+ * comme un mur). Un groupe de caisses gelées dont l'une n'est pas sur une cible rend l'état
+ * insoluble, même si aucune case morte n'est occupée.
+ *
+ * Seules les caisses situées dans une fenêtre 5x5 autour de la caisse poussée sont prises en
+ * compte (les autres sont supposées mobiles, ce qui reste prudent). Le résultat ne dépend donc
+ * que de la case et du motif local de caisses : il est mémorisé par (case, motif).
+ *
+ * Une instance par thread (voir Level.freezeDetector()).
+ */
+final class FreezeDeadlockDetector {
+
+    private static final int RADIUS = 2;
+    private static final int WINDOW = (2 * RADIUS + 1) * (2 * RADIUS + 1) - 1;
+    // Au-delà, la mémoire des motifs est vidée (elle n'est qu'un cache)
+    private static final int MEMO_LIMIT = 1 << 20;
+
+    private final Level level;
+    // window[cell * WINDOW + i] : i-ème case de la fenêtre autour de 'cell' (-1 si mur / hors niveau)
+    private final int[] window;
+    private LongHashSet deadlockPatterns = new LongHashSet();
+    private LongHashSet safePatterns = new LongHashSet();
+
+    // Configuration examinée : boxBits du parent, caisse déplacée de 'from' vers 'center'
+    private long[] boxBits;
+    private int from;
+    private int center;
+    // Caisses traitées comme des murs pendant la récursion
+    private final int[] walls = new int[WINDOW + 1];
+    private int wallCount;
+    private boolean frozenOffTarget;
+
+    FreezeDeadlockDetector(Level level) {
+        this.level = level;
+        this.window = new int[level.cellCount * WINDOW];
+        for (int cell = 0; cell < level.cellCount; cell++) {
+            int i = 0;
+            for (int dr = -RADIUS; dr <= RADIUS; dr++) {
+                for (int dc = -RADIUS; dc <= RADIUS; dc++) {
+                    if (dr != 0 || dc != 0) {
+                        window[cell * WINDOW + i++] = level.cellAt(level.cellRow[cell] + dr, level.cellCol[cell] + dc);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Vrai si pousser la caisse de 'from' vers 'to' (dans la configuration 'boxBits') gèle
+     * un groupe de caisses dont l'une au moins n'est pas sur une cible.
+     */
+    public boolean isDeadlock(long[] boxBits, int from, int to) {
+        this.boxBits = boxBits;
+        this.from = from;
+        this.center = to;
+
+        // Clé du motif : case de la caisse + occupation des 24 cases voisines
+        long pattern = 0;
+        for (int i = 0; i < WINDOW; i++) {
+            int cell = window[to * WINDOW + i];
+            if (cell >= 0 && isBox(cell)) {
+                pattern |= 1L << i;
+            }
+        }
+        long key = ((long) to << WINDOW) | pattern;
+        if (deadlockPatterns.contains(key)) return true;
+        if (safePatterns.contains(key)) return false;
+
+        wallCount = 0;
+        frozenOffTarget = false;
+        boolean deadlock = isFrozen(to) && frozenOffTarget;
+
+        if (deadlockPatterns.size() + safePatterns.size() >= MEMO_LIMIT) {
+            deadlockPatterns = new LongHashSet();
+            safePatterns = new LongHashSet();
+        }
+        (deadlock ? deadlockPatterns : safePatterns).add(key);
+        return deadlock;
+    }
+
+    /**
+     * Vrai si la caisse sur 'cell' est bloquée sur ses deux axes.
+     */
+    private boolean isFrozen(int cell) {
+        // les caisses trouvées gelées en supposant celle-ci immobile ne comptent que si elle l'est
+        boolean offTargetBefore = frozenOffTarget;
+        walls[wallCount++] = cell;
+        boolean frozen = isBlocked(cell, 0) && isBlocked(cell, 2);
+        wallCount--;
+        if (!frozen) {
+            frozenOffTarget = offTargetBefore;
+        } else if (!level.isTarget(cell)) {
+            frozenOffTarget = true;
+        }
+        return frozen;
+    }
+
+    /**
+     * Vrai si la caisse sur 'cell' ne peut pas bouger selon l'axe de la direction 'dir'
+     * (0 : vertical, 2 : horizontal ; dir et dir ^ 1 sont opposées).
+     */
+    private boolean isBlocked(int cell, int dir) {
+        int a = level.neighbor(cell, dir);
+        int b = level.neighbor(cell, dir ^ 1);
+        if (a < 0 || b < 0 || isTemporaryWall(a) || isTemporaryWall(b)) {
+            return true;
+        }
+        if (level.isDeadSquare(a) && level.isDeadSquare(b)) {
+            return true;
+        }
+        return (isBoxInWindow(a) && isFrozen(a)) || (isBoxInWindow(b) && isFrozen(b));
+    }
+
+    private boolean isBox(int cell) {
+        return cell == center || (cell != from && Level.test(boxBits, cell));
+    }
+
+    private boolean isBoxInWindow(int cell) {
+        return Math.abs(level.cellRow[cell] - level.cellRow[center]) <= RADIUS
+                && Math.abs(level.cellCol[cell] - level.cellCol[center]) <= RADIUS
+                && isBox(cell);
+    }
+
+    private boolean isTemporaryWall(int cell) {
+        for (int i = 0; i < wallCount; i++) {
+            if (walls[i] == cell) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,41 @@
+package com.fstt.devoir;
+
+/**
+ * closedList en mémoire : simple enveloppe autour d'une LongIntHashMap (clé -> meilleur g).
+ */
+final class HeapClosedList implements ClosedList {
+
+    private final LongIntHashMap keys;
+
+    public HeapClosedList() {
+        this.keys = new LongIntHashMap();
+    }
+
+    /**
+     * @param expectedSize nombre d'états attendu (évite les agrandissements successifs)
+     * @param maxLoad taux de remplissage maximal de la table avant doublement (entre 0 et 1 exclus)
+     */
+    public HeapClosedList(int expectedSize, float maxLoad) {
+        this.keys = new LongIntHashMap(expectedSize, maxLoad);
+    }
+
+    @Override
+    public boolean add(long key, int g) {
+        return keys.putIfLower(key, g);
+    }
+
+    @Override
+    public int bestG(long key) {
+        return keys.get(key);
+    }
+
+    @Override
+    public long size() {
+        return keys.size();
+    }
+
+    @Override
+    public String stats() {
+        return keys.probeStats().toString();
+    }
+}
@@ -0,0 +1,49 @@
+package com.fstt.devoir;
+
+import java.util.PriorityQueue;
+
+/**
+ * openList en tas binaire : PriorityQueue triée par f_cost, puis selon la politique de départage
+ * (voir SolverOptions.TieBreaking). Chaque état reçoit un rang d'insertion (Etat.sequence) : l'ordre
+ * est total, et deux exécutions identiques développent les mêmes nœuds dans le même ordre.
+ */
+final class HeapOpenList implements OpenList {
+
+    private final boolean lowerHFirst;
+    private final boolean lastInFirst;
+    private final PriorityQueue<Etat> queue = new PriorityQueue<>(this::compare);
+    private int nextSequence;
+
+    HeapOpenList(SolverOptions.TieBreaking tieBreaking) {
+        this.lowerHFirst = tieBreaking == SolverOptions.TieBreaking.LOWER_H;
+        this.lastInFirst = tieBreaking != SolverOptions.TieBreaking.FIFO;
+    }
+
+    @Override
+    public void add(Etat etat) {
+        etat.sequence = nextSequence++;
+        queue.add(etat);
+    }
+
+    @Override
+    public Etat poll() {
+        return queue.poll();
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    private int compare(Etat a, Etat b) {
+        if (a.f_cost != b.f_cost) {
+            return Integer.compare(a.f_cost, b.f_cost);
+        }
+        if (lowerHFirst && a.h_cost != b.h_cost) {
+            return Integer.compare(a.h_cost, b.h_cost);
+        }
+        // écart signé des rangs : reste juste après débordement du compteur
+        int order = a.sequence - b.sequence;
+        return lastInFirst ? Integer.compare(0, order) : Integer.compare(order, 0);
+    }
+}
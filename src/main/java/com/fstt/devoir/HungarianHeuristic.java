@@ -0,0 +1,182 @@
+package com.fstt.devoir;
+
+import java.util.Arrays;
+
+/**
+ * Heuristique par couplage parfait de coût minimal entre caisses et cibles (algorithme hongrois).
+ *
+ * Chaque caisse doit finir sur une cible différente : le coût minimal d'une affectation
+ * caisses -> cibles, avec les distances précalculées de Level.targetDistance(), est une borne
+ * inférieure du nombre de poussées restantes (heuristique admissible), bien plus serrée que la
+ * somme des distances à la cible la plus proche (où plusieurs caisses visent la même cible).
+ *
+ * La matrice est carrée (une ligne par cible) : les lignes en trop sont des caisses fictives
+ * de coût nul. Les potentiels (u, v) et l'affectation de l'état développé sont conservés
+ * (prepare()) : lorsqu'une seule caisse bouge, evaluateMove() ne refait qu'un chemin
+ * augmentant depuis sa ligne, en O(n²) au lieu de O(n³).
+ *
+ * Les tampons sont réutilisés : une instance par thread (voir Level.heuristic()).
+ */
+final class HungarianHeuristic {
+
+    // Valeur renvoyée lorsqu'aucune affectation n'est possible : une caisse ne peut atteindre
+    // aucune des cibles qui lui restent, l'état est une impasse.
+    public static final int UNSOLVABLE = Integer.MAX_VALUE;
+
+    private static final int INF = Integer.MAX_VALUE / 2;
+    // Coût d'une cible inaccessible : supérieur à toute somme de distances réelles (chaque distance
+    // est inférieure au nombre de cases, voir le constructeur), et assez petit pour que les potentiels
+    // ne débordent pas.
+    private static final int UNREACHABLE_COST = 1 << 24;
+
+    private final Level level;
+    private final int n;     // nombre de cibles = taille de la matrice
+    private final int boxes; // nombre de caisses réelles (lignes 1..boxes)
+    // cost[i][j] : coût de la ligne i (caisse i-1) vers la colonne j (cible j-1), indices à partir de 1
+    private final int[][] cost;
+
+    // Solution de référence (état préparé) : potentiels et affectation colonne -> ligne
+    private final int[] baseU, baseV, baseP;
+    // Tampons de travail
+    private final int[] u, v, p, way, minv;
+    private final boolean[] used;
+    private final int[] savedRow;
+
+    HungarianHeuristic(Level level) {
+        this.level = level;
+        this.n = level.targetCells.length;
+        this.boxes = level.initialBoxes.length;
+        if ((long) boxes * level.cellCount >= UNREACHABLE_COST) {
+            throw new IllegalArgumentException("Niveau trop grand pour l'heuristique: " + boxes + " caisses, "
+                    + level.cellCount + " cases");
+        }
+        this.cost = new int[n + 1][n + 1];
+        this.baseU = new int[n + 1];
+        this.baseV = new int[n + 1];
+        this.baseP = new int[n + 1];
+        this.u = new int[n + 1];
+        this.v = new int[n + 1];
+        this.p = new int[n + 1];
+        this.way = new int[n + 1];
+        this.minv = new int[n + 1];
+        this.used = new boolean[n + 1];
+        this.savedRow = new int[n + 1];
+    }
+
+    /**
+     * Coût du couplage minimal pour la configuration 'boxCells' (calcul complet, O(n³)),
+     * ou UNSOLVABLE. Cette configuration devient la référence pour evaluateMove().
+     */
+    public int prepare(int[] boxCells) {
+        for (int k = 0; k < boxes; k++) {
+            fillRow(k + 1, boxCells[k]);
+        }
+        // lignes fictives (plus de cibles que de caisses) : coût nul, déjà à 0
+        Arrays.fill(u, 0);
+        Arrays.fill(v, 0);
+        Arrays.fill(p, 0);
+        for (int i = 1; i <= n; i++) {
+            augment(i);
+        }
+        System.arraycopy(u, 0, baseU, 0, n + 1);
+        System.arraycopy(v, 0, baseV, 0, n + 1);
+        System.arraycopy(p, 0, baseP, 0, n + 1);
+        return totalCost();
+    }
+
+    /**
+     * Coût du couplage minimal (ou UNSOLVABLE) si la caisse 'box' de la configuration préparée est déplacée sur 'cell'.
+     * Ne modifie pas la référence : peut être appelée pour chaque successeur.
+     */
+    public int evaluateMove(int box, int cell) {
+        int row = box + 1;
+        System.arraycopy(baseU, 0, u, 0, n + 1);
+        System.arraycopy(baseV, 0, v, 0, n + 1);
+        System.arraycopy(baseP, 0, p, 0, n + 1);
+        System.arraycopy(cost[row], 0, savedRow, 0, n + 1);
+
+        // 1) libérer la colonne de la caisse et remplacer sa ligne de coûts
+        for (int j = 1; j <= n; j++) {
+            if (p[j] == row) {
+                p[j] = 0;
+                break;
+            }
+        }
+        fillRow(row, cell);
+
+        // 2) potentiel de la ligne : le plus grand qui reste réalisable (coûts réduits >= 0)
+        int best = INF;
+        for (int j = 1; j <= n; j++) {
+            best = Math.min(best, cost[row][j] - v[j]);
+        }
+        u[row] = best;
+
+        // 3) un seul chemin augmentant depuis cette ligne rétablit un couplage optimal
+        augment(row);
+        int h = totalCost();
+
+        System.arraycopy(savedRow, 0, cost[row], 0, n + 1);
+        return h;
+    }
+
+    private void fillRow(int row, int cell) {
+        for (int t = 0; t < n; t++) {
+            int distance = level.targetDistance(cell, t);
+            cost[row][t + 1] = distance == PushDistances.UNREACHABLE ? UNREACHABLE_COST : distance;
+        }
+    }
+
+    /**
+     * Phase de l'algorithme hongrois (plus court chemin augmentant avec potentiels) :
+     * affecte la ligne 'row' en conservant l'optimalité des lignes déjà affectées.
+     */
+    private void augment(int row) {
+        p[0] = row;
+        int j0 = 0;
+        Arrays.fill(minv, INF);
+        Arrays.fill(used, false);
+        do {
+            used[j0] = true;
+            int i0 = p[j0];
+            int delta = INF;
+            int j1 = 0;
+            for (int j = 1; j <= n; j++) {
+                if (!used[j]) {
+                    int cur = cost[i0][j] - u[i0] - v[j];
+                    if (cur < minv[j]) {
+                        minv[j] = cur;
+                        way[j] = j0;
+                    }
+                    if (minv[j] < delta) {
+                        delta = minv[j];
+                        j1 = j;
+                    }
+                }
+            }
+            for (int j = 0; j <= n; j++) {
+                if (used[j]) {
+                    u[p[j]] += delta;
+                    v[j] -= delta;
+                } else {
+                    minv[j] -= delta;
+                }
+            }
+            j0 = j1;
+        } while (p[j0] != 0);
+        // inverser le chemin augmentant
+        do {
+            int j1 = way[j0];
+            p[j0] = p[j1];
+            j0 = j1;
+        } while (j0 != 0);
+    }
+
+    private int totalCost() {
+        // somme sur un long : n coûts infinis dépassent un int au-delà de 127 cibles
+        long total = 0;
+        for (int j = 1; j <= n; j++) {
+            total += cost[p[j]][j];
+        }
+        return total >= UNREACHABLE_COST ? UNSOLVABLE : (int) total;
+    }
+}
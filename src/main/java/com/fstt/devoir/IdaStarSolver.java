@@ -0,0 +1,296 @@
+package com.fstt.devoir;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Recherche IDA* (A* itératif en profondeur) au niveau des poussées.
+ *
+ * Même modèle de coût que l'A* (une poussée coûte 1) et même heuristique (couplage minimal),
+ * mais la recherche se fait en profondeur d'abord sous un seuil de f, relevé à chaque itération
+ * au plus petit f qui l'a dépassé. Un seul état mutable est modifié puis restauré à chaque
+ * poussée : la mémoire est linéaire en la profondeur de la solution, plus une table de
+ * transposition de taille fixe (2^tableBits entrées) qui évite de réexplorer les mêmes
+ * configurations au cours d'une itération.
+ */
+final class IdaStarSolver {
+
+    private static final int FOUND = -1;
+    // Budget épuisé : la recherche remonte sans explorer davantage
+    private static final int STOPPED = -2;
+
+    private final Level level;
+    private final Reachability reach;
+    private final HungarianHeuristic heuristic;
+    private final FreezeDeadlockDetector freezeDetector;
+
+    // --- État courant (modifié en place) ---
+    private final long[] boxBits;
+    private final int[] boxCells;
+    private int player; // position normalisée
+    private long hash;
+
+    // --- Table de transposition : (clé, g, itération), remplacement direct ---
+    private final long[] tableKeys;
+    private final int[] tableG;
+    private final int[] tableIteration;
+    private final int tableMask;
+    private int iteration;
+
+    // --- Chemin courant et tampons par profondeur ---
+    // path[depth] : poussée jouée à cette profondeur (k * 4 + direction)
+    private int[] path = new int[64];
+    private int solutionLength;
+    private final List<int[]> movesByDepth = new ArrayList<>();
+    private final List<int[]> costsByDepth = new ArrayList<>();
+
+    public long exploredNodes;
+    private final SearchBudget budget;
+    // Métriques facultatives (pas d'openList ni de closedList : seuls les compteurs et le seuil sont publiés)
+    private final SearchMetrics metrics;
+    private SearchResult.Status stopReason;
+
+    IdaStarSolver(Etat etatInitial, int tableBits, SearchBudget budget, SearchMetrics metrics) {
+        this.budget = budget;
+        this.metrics = metrics;
+        this.level = etatInitial.level;
+        this.reach = level.reachability();
+        this.heuristic = level.heuristic();
+        this.freezeDetector = level.freezeDetector();
+        this.boxBits = etatInitial.boxBits.clone();
+        this.boxCells = etatInitial.boxCells.clone();
+        this.player = etatInitial.player;
+        this.hash = etatInitial.hash;
+        this.tableKeys = new long[1 << tableBits];
+        this.tableG = new int[1 << tableBits];
+        this.tableIteration = new int[1 << tableBits];
+        this.tableMask = (1 << tableBits) - 1;
+    }
+
+    /**
+     * Lance les itérations successives depuis l'état initial (joueur normalisé).
+     * @return l'issue de la recherche ; en cas de succès, l'état final est la chaîne d'états rejouée depuis 'etatInitial'
+     */
+    static SearchResult solve(Etat etatInitial, SolverOptions options, SearchBudget budget) {
+        IdaStarSolver solver = new IdaStarSolver(etatInitial, options.idaTableBits, budget, options.metrics);
+        int threshold = etatInitial.h_cost;
+        while (true) {
+            solver.iteration++;
+            if (solver.metrics != null) {
+                solver.metrics.fBound(threshold);
+            }
+            int result = solver.search(0, threshold);
+            if (result == FOUND) {
+                solver.printMetrics(options);
+                return SearchResult.solved(solver.replay(etatInitial), solver.exploredNodes);
+            }
+            if (result == STOPPED) {
+                solver.printMetrics(options);
+                return SearchResult.stopped(solver.stopReason, solver.exploredNodes);
+            }
+            if (result == Integer.MAX_VALUE) {
+                // aucun nœud n'a dépassé le seuil : tout l'espace a été exploré
+                solver.printMetrics(options);
+                return SearchResult.stopped(SearchResult.Status.UNSOLVABLE, solver.exploredNodes);
+            }
+            threshold = result;
+        }
+    }
+
+    private void printMetrics(SolverOptions options) {
+        if (options.verbose) {
+            System.out.println("Nombre de nœuds explorés par IDA*: " + exploredNodes);
+        }
+    }
+
+    /**
+     * Exploration en profondeur sous le seuil.
+     * @return FOUND, STOPPED, ou le plus petit f ayant dépassé le seuil (Integer.MAX_VALUE si aucun)
+     */
+    private int search(int g, int threshold) {
+        stopReason = budget.exceeded(exploredNodes);
+        if (stopReason != null) {
+            return STOPPED;
+        }
+        exploredNodes++;
+        if (metrics != null) {
+            metrics.nodeExpanded();
+        }
+        if (isGoal()) {
+            solutionLength = g;
+            return FOUND;
+        }
+
+        // 1) poussées possibles depuis la zone du joueur, avec leur heuristique
+        int[] moves = buffer(movesByDepth, g);
+        int[] costs = buffer(costsByDepth, g);
+        int count = 0;
+        reach.fill(player, boxBits);
+        long start = metrics != null ? System.nanoTime() : 0;
+        heuristic.prepare(boxCells);
+        if (metrics != null) {
+            metrics.heuristicEvaluated(System.nanoTime() - start);
+        }
+        for (int k = 0; k < boxCells.length; k++) {
+            int box = boxCells[k];
+            for (int d = 0; d < 4; d++) {
+                int behind = level.neighbor(box, d ^ 1);
+                int target = level.neighbor(box, d);
+                if (behind < 0 || !reach.reached(behind) || target < 0 || Level.test(boxBits, target)) {
+                    continue;
+                }
+                if (level.isDeadSquare(target) || freezeDetector.isDeadlock(boxBits, box, target)) {
+                    if (metrics != null) {
+                        metrics.deadlockPruned();
+                    }
+                    continue;
+                }
+                int h = evaluateMove(k, target);
+                if (h == HungarianHeuristic.UNSOLVABLE) {
+                    if (metrics != null) {
+                        metrics.deadlockPruned();
+                    }
+                    continue;
+                }
+                moves[count] = k * 4 + d;
+                costs[count] = h;
+                count++;
+            }
+        }
+        if (metrics != null) {
+            metrics.nodesGenerated(count);
+        }
+        sortByCost(moves, costs, count);
+
+        // 2) explorer les successeurs, les plus prometteurs d'abord
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            int f = g + 1 + costs[i];
+            if (f > threshold) {
+                min = Math.min(min, f);
+                continue;
+            }
+            int k = moves[i] >>> 2, d = moves[i] & 3;
+            int from = boxCells[k];
+            int previousPlayer = player;
+            long previousHash = hash;
+            applyPush(k, d);
+
+            boolean visited = visit(g + 1);
+            if (metrics != null) {
+                metrics.closedListLookup(!visited);
+            }
+            if (visited) {
+                if (g + 1 >= path.length) {
+                    path = Arrays.copyOf(path, path.length * 2);
+                }
+                path[g] = moves[i];
+                int result = search(g + 1, threshold);
+                if (result == FOUND || result == STOPPED) {
+                    return result;
+                }
+                min = Math.min(min, result);
+            }
+
+            undoPush(k, d, from, previousPlayer, previousHash);
+        }
+        return min;
+    }
+
+    /**
+     * Enregistre l'état courant dans la table de transposition.
+     * @return faux s'il a déjà été atteint pendant cette itération avec un coût inférieur ou égal
+     */
+    private boolean visit(int g) {
+        int slot = (int) LongHashSet.mix(hash) & tableMask;
+        if (tableIteration[slot] == iteration && tableKeys[slot] == hash && tableG[slot] <= g) {
+            return false;
+        }
+        tableKeys[slot] = hash;
+        tableG[slot] = g;
+        tableIteration[slot] = iteration;
+        return true;
+    }
+
+    private int evaluateMove(int k, int target) {
+        if (metrics == null) {
+            return heuristic.evaluateMove(k, target);
+        }
+        long start = System.nanoTime();
+        int h = heuristic.evaluateMove(k, target);
+        metrics.heuristicEvaluated(System.nanoTime() - start);
+        return h;
+    }
+
+    private void applyPush(int k, int d) {
+        int from = boxCells[k];
+        int target = level.neighbor(from, d);
+        Level.clear(boxBits, from);
+        Level.set(boxBits, target);
+        boxCells[k] = target;
+        int normalized = reach.fill(from, boxBits);
+        hash ^= level.zobristBox(k, from) ^ level.zobristBox(k, target)
+                ^ level.zobristPlayer(player) ^ level.zobristPlayer(normalized);
+        player = normalized;
+    }
+
+    private void undoPush(int k, int d, int from, int previousPlayer, long previousHash) {
+        int target = level.neighbor(from, d);
+        Level.clear(boxBits, target);
+        Level.set(boxBits, from);
+        boxCells[k] = from;
+        player = previousPlayer;
+        hash = previousHash;
+    }
+
+    private boolean isGoal() {
+        for (int w = 0; w < boxBits.length; w++) {
+            if ((boxBits[w] & ~level.targetBits[w]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rejoue les poussées du chemin trouvé pour produire la chaîne d'états (parent -> enfant)
+     * attendue par la reconstruction de la solution.
+     */
+    private Etat replay(Etat etatInitial) {
+        int[] moves = new int[solutionLength];
+        for (int depth = 0; depth < solutionLength; depth++) {
+            moves[depth] = Move.push(path[depth] >>> 2, path[depth] & 3);
+        }
+        return etatInitial.replay(moves, true);
+    }
+
+    private int[] buffer(List<int[]> buffers, int depth) {
+        while (buffers.size() <= depth) {
+            buffers.add(null);
+        }
+        int[] buffer = buffers.get(depth);
+        if (buffer == null) {
+            buffer = new int[boxCells.length * 4];
+            buffers.set(depth, buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * Tri par insertion des poussées selon leur heuristique (peu d'éléments).
+     */
+    private static void sortByCost(int[] moves, int[] costs, int count) {
+        for (int i = 1; i < count; i++) {
+            int move = moves[i], cost = costs[i];
+            int j = i - 1;
+            while (j >= 0 && costs[j] > cost) {
+                moves[j + 1] = moves[j];
+                costs[j + 1] = costs[j];
+                j--;
+            }
+            moves[j + 1] = move;
+            costs[j + 1] = cost;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.fstt.devoir;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Données statiques d'un niveau, calculées une seule fois :
+ * - la grille des murs et des cibles,
+ * - la numérotation des cases de sol accessibles (utilisée par les bitboards),
+ * - les voisins de chaque case et l'ensemble des cibles,
+ * - la position initiale du joueur et des caisses.
+ *
+ * La grille peut être écrite avec les symboles du projet ('■', '□', 'T', caisses nommées 'a', 'b'...)
+ * ou en notation standard XSB ('#', ' ', '.', '$', '*'), les lignes pouvant être de longueurs différentes.
+ *
+ * Les états (Etat) ne stockent que la position du joueur (un entier) et
+ * l'occupation des caisses (un long[] indexé par numéro de case).
+ *
+ * Un Level est immuable : il sert de contexte à une recherche et peut être partagé
+ * entre threads. Les tampons de travail sont propres à chaque thread (LevelWorkspace).
+ */
+final class Level {
+
+    public final int rows;
+    public final int cols;
+    // Grille statique : WALL, TARGET ou FLOOR (sans joueur ni caisses)
+    public final char[][] staticBoard;
+
+    // --- Numérotation des cases de sol ---
+    // Seules les cases atteignables par le joueur (en ignorant les caisses) sont numérotées,
+    // dans l'ordre de lecture (ligne par ligne) : la plus petite case est donc la plus "en haut à gauche".
+    public final int cellCount;
+    // Nombre de 'long' nécessaires pour un bitboard de cellCount bits
+    public final int words;
+    private final int[] cellIndex; // r * cols + c -> numéro de case, ou -1 (mur / extérieur)
+    public final int[] cellRow;
+    public final int[] cellCol;
+    // neighbors[cell * 4 + dir] : case voisine dans la direction DIRS[dir], ou -1 si mur
+    private final int[] neighbors;
+
+    // --- Cibles ---
+    public final long[] targetBits;
+    public final int[] targetCells;
+
+    // --- Éléments mobiles au départ ---
+    public final int initialPlayer;
+    // Caisses triées par nom (les caisses sans nom d'abord, dans l'ordre de lecture) :
+    // l'indice dans ce tableau est l'identité de la caisse, quel que soit leur nombre
+    public final int[] initialBoxes;
+    // Lettre de chaque caisse, ou SokobanSolver.NO_BOX_NAME
+    public final char[] boxNames;
+
+    // --- Clés de Zobrist ---
+    // Une valeur aléatoire par (caisse, case) et par position du joueur : la clé d'un état
+    // est le XOR des valeurs de ses éléments, mise à jour en O(1) à chaque mouvement.
+    // Graine fixe : les clés (et donc l'ordre d'exploration) sont reproductibles.
+    private static final long ZOBRIST_SEED = 0x5EED_50C0_BA11L;
+    private final long[] zobristPlayer;
+    private final long[][] zobristBoxes;
+    // Caisses interchangeables : toutes les caisses partagent la même table de Zobrist,
+    // la clé ne dépend que de l'ensemble des cases occupées (voir withIdenticalBoxes())
+    public final boolean identicalBoxes;
+
+    // --- Distances précalculées ---
+    // targetDistances[cell * targetCells.length + t] : nombre minimal de poussées de la case à la cible t,
+    // en respectant les murs (PushDistances.UNREACHABLE si la cible est inaccessible depuis la case)
+    private final short[] targetDistances;
+    // Cases mortes (impasses simples) : une caisse poussée sur l'une d'elles ne peut plus
+    // atteindre aucune cible (coins, longs murs sans cible...)
+    private final long[] deadBits;
+
+    public Level(String[] level) {
+        this.rows = level.length;
+        int width = 0;
+        for (String line : level) {
+            width = Math.max(width, line.length());
+        }
+        this.cols = width;
+        this.staticBoard = new char[rows][cols];
+
+        List<BoxPosition> boxes = new ArrayList<>();
+        int playerR = -1, playerC = -1;
+
+        // 1) Séparer les éléments statiques (murs, cibles) des éléments mobiles (joueur, caisses)
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                char cell = c < level[r].length() ? level[r].charAt(c) : SokobanSolver.WALL;
+
+                if (cell == SokobanSolver.WALL || cell == SokobanSolver.XSB_WALL) {
+                    staticBoard[r][c] = SokobanSolver.WALL;
+                } else if (cell == SokobanSolver.TARGET || cell == SokobanSolver.PLAYER_ON_TARGET || SokobanSolver.isBoxOnTargetSymbol(cell)
+                        || cell == SokobanSolver.XSB_TARGET || cell == SokobanSolver.XSB_BOX_ON_TARGET) {
+                    // cible ou objet posé sur une cible -> marquer comme TARGET
+                    staticBoard[r][c] = SokobanSolver.TARGET;
+                } else {
+                    // sol libre
+                    staticBoard[r][c] = SokobanSolver.FLOOR;
+                }
+
+                if (cell == SokobanSolver.PLAYER || cell == SokobanSolver.PLAYER_ON_TARGET) {
+                    playerR = r;
+                    playerC = c;
+                } else if (SokobanSolver.isBoxSymbol(cell)) {
+                    boxes.add(new BoxPosition(r, c, SokobanSolver.getBoxName(cell)));
+                } else if (cell == SokobanSolver.XSB_BOX || cell == SokobanSolver.XSB_BOX_ON_TARGET) {
+                    boxes.add(new BoxPosition(r, c, SokobanSolver.NO_BOX_NAME));
+                }
+            }
+        }
+        if (playerR < 0) {
+            throw new IllegalArgumentException("Le niveau ne contient pas de joueur");
+        }
+
+        // 2) Cases accessibles depuis le joueur (parcours en largeur en ignorant les caisses)
+        boolean[] reachable = new boolean[rows * cols];
+        int[] queue = new int[rows * cols];
+        int head = 0, tail = 0;
+        reachable[playerR * cols + playerC] = true;
+        queue[tail++] = playerR * cols + playerC;
+        while (head < tail) {
+            int pos = queue[head++];
+            int r = pos / cols, c = pos % cols;
+            for (int[] dir : SokobanSolver.DIRS) {
+                int nr = r + dir[0], nc = c + dir[1];
+                if (SokobanSolver.isValid(nr, nc, rows, cols)
+                        && staticBoard[nr][nc] != SokobanSolver.WALL
+                        && !reachable[nr * cols + nc]) {
+                    reachable[nr * cols + nc] = true;
+                    queue[tail++] = nr * cols + nc;
+                }
+            }
+        }
+
+        // 3) Numérotation des cases dans l'ordre de lecture
+        this.cellIndex = new int[rows * cols];
+        int count = 0;
+        for (int pos = 0; pos < rows * cols; pos++) {
+            cellIndex[pos] = reachable[pos] ? count++ : -1;
+        }
+        if (count >= PushDistances.UNREACHABLE) {
+            throw new IllegalArgumentException("Niveau trop grand: " + count + " cases");
+        }
+        this.cellCount = count;
+        this.words = (count + 63) >>> 6;
+        this.cellRow = new int[count];
+        this.cellCol = new int[count];
+        for (int pos = 0; pos < rows * cols; pos++) {
+            if (cellIndex[pos] >= 0) {
+                cellRow[cellIndex[pos]] = pos / cols;
+                cellCol[cellIndex[pos]] = pos % cols;
+            }
+        }
+
+        this.neighbors = new int[count * 4];
+        for (int cell = 0; cell < count; cell++) {
+            for (int d = 0; d < 4; d++) {
+                neighbors[cell * 4 + d] = cellAt(cellRow[cell] + SokobanSolver.DIRS[d][0], cellCol[cell] + SokobanSolver.DIRS[d][1]);
+            }
+        }
+
+        // 4) Cibles
+        this.targetBits = new long[words];
+        List<Integer> targets = new ArrayList<>();
+        for (int cell = 0; cell < count; cell++) {
+            if (staticBoard[cellRow[cell]][cellCol[cell]] == SokobanSolver.TARGET) {
+                set(targetBits, cell);
+                targets.add(cell);
+            }
+        }
+        this.targetCells = targets.stream().mapToInt(Integer::intValue).toArray();
+
+        // 5) Joueur et caisses (triées par nom pour une identité stable)
+        this.initialPlayer = cellAt(playerR, playerC);
+        Collections.sort(boxes);
+        this.initialBoxes = new int[boxes.size()];
+        this.boxNames = new char[boxes.size()];
+        for (int i = 0; i < boxes.size(); i++) {
+            BoxPosition box = boxes.get(i);
+            initialBoxes[i] = cellAt(box.r, box.c);
+            boxNames[i] = box.name;
+            if (initialBoxes[i] < 0) {
+                throw new IllegalArgumentException("Caisse '" + boxLabel(i) + "' hors de la zone accessible");
+            }
+        }
+        if (targetCells.length < initialBoxes.length) {
+            throw new IllegalArgumentException("Moins de cibles que de caisses");
+        }
+
+        // 6) Distances de poussée caisse -> cible, calculées une fois par BFS inverse
+        this.targetDistances = PushDistances.compute(this);
+
+        // 7) Cases mortes : aucune cible accessible par poussées
+        this.deadBits = new long[words];
+        for (int cell = 0; cell < count; cell++) {
+            boolean dead = true;
+            for (int t = 0; t < targetCells.length && dead; t++) {
+                dead = targetDistance(cell, t) == PushDistances.UNREACHABLE;
+            }
+            if (dead) {
+                set(deadBits, cell);
+            }
+        }
+
+        // 8) Tables de Zobrist
+        SplittableRandom random = new SplittableRandom(ZOBRIST_SEED);
+        this.zobristPlayer = new long[count];
+        this.zobristBoxes = new long[initialBoxes.length][count];
+        for (int cell = 0; cell < count; cell++) {
+            zobristPlayer[cell] = random.nextLong();
+        }
+        for (long[] table : zobristBoxes) {
+            for (int cell = 0; cell < count; cell++) {
+                table[cell] = random.nextLong();
+            }
+        }
+        this.identicalBoxes = false;
+    }
+
+    /**
+     * Copie de 'named' où les caisses sont interchangeables : toutes les caisses utilisent la table
+     * de Zobrist de la caisse 0, si bien que deux configurations qui ne diffèrent que par une
+     * permutation des caisses ont la même clé (un seul état au lieu de k!).
+     * Les caisses gardent leur indice pendant la recherche (reconstruction de la solution).
+     */
+    private Level(Level named) {
+        this.rows = named.rows;
+        this.cols = named.cols;
+        this.staticBoard = named.staticBoard;
+        this.cellCount = named.cellCount;
+        this.words = named.words;
+        this.cellIndex = named.cellIndex;
+        this.cellRow = named.cellRow;
+        this.cellCol = named.cellCol;
+        this.neighbors = named.neighbors;
+        this.targetBits = named.targetBits;
+        this.targetCells = named.targetCells;
+        this.initialPlayer = named.initialPlayer;
+        this.initialBoxes = named.initialBoxes;
+        this.boxNames = named.boxNames;
+        this.targetDistances = named.targetDistances;
+        this.deadBits = named.deadBits;
+        this.zobristPlayer = named.zobristPlayer;
+        this.zobristBoxes = new long[initialBoxes.length][];
+        Arrays.fill(zobristBoxes, named.zobristBoxes.length > 0 ? named.zobristBoxes[0] : null);
+        this.identicalBoxes = true;
+    }
+
+    /**
+     * Le même niveau avec des caisses interchangeables (ce niveau s'il l'est déjà).
+     */
+    public Level withIdenticalBoxes() {
+        return identicalBoxes ? this : new Level(this);
+    }
+
+    /**
+     * Nom affichable de la caisse d'indice 'box' : sa lettre, ou "#n" (n = indice + 1) pour une caisse sans nom.
+     */
+    public String boxLabel(int box) {
+        return boxNames[box] != SokobanSolver.NO_BOX_NAME ? String.valueOf(boxNames[box]) : "#" + (box + 1);
+    }
+
+    /**
+     * Contribution du joueur placé sur 'cell' à la clé de Zobrist.
+     */
+    public long zobristPlayer(int cell) {
+        return zobristPlayer[cell];
+    }
+
+    /**
+     * Contribution de la caisse d'indice 'box' placée sur 'cell' à la clé de Zobrist.
+     */
+    public long zobristBox(int box, int cell) {
+        return zobristBoxes[box][cell];
+    }
+
+    /**
+     * Numéro de la case (r,c), ou -1 si c'est un mur ou une case hors de la zone jouable.
+     */
+    public int cellAt(int r, int c) {
+        if (!SokobanSolver.isValid(r, c, rows, cols)) return -1;
+        return cellIndex[r * cols + c];
+    }
+
+    /**
+     * Case voisine de 'cell' dans la direction 'dir' (indice dans DIRS), ou -1 si mur.
+     */
+    public int neighbor(int cell, int dir) {
+        return neighbors[cell * 4 + dir];
+    }
+
+    /**
+     * Nombre minimal de poussées pour amener une caisse de 'cell' à la cible d'indice 't'
+     * (en ignorant les autres caisses), ou PushDistances.UNREACHABLE.
+     */
+    public int targetDistance(int cell, int t) {
+        return targetDistances[cell * targetCells.length + t];
+    }
+
+    /**
+     * Heuristique (couplage caisses -> cibles) propre au thread courant.
+     */
+    public HungarianHeuristic heuristic() {
+        return LevelWorkspace.of(this).heuristic;
+    }
+
+    /**
+     * Détecteur d'impasses par gel (et sa mémoire de motifs) propre au thread courant.
+     */
+    public FreezeDeadlockDetector freezeDetector() {
+        return LevelWorkspace.of(this).freezeDetector;
+    }
+
+    /**
+     * Outil de calcul de zone accessible propre au thread courant.
+     */
+    public Reachability reachability() {
+        return LevelWorkspace.of(this).reachability;
+    }
+
+    /**
+     * Tampon des poussées candidates (4 par caisse) propre au thread courant.
+     */
+    public int[] pushBuffer() {
+        return LevelWorkspace.of(this).pushes;
+    }
+
+    /**
+     * Vrai si une caisse placée sur 'cell' ne peut plus atteindre aucune cible.
+     */
+    public boolean isDeadSquare(int cell) {
+        return test(deadBits, cell);
+    }
+
+    public boolean isTarget(int cell) {
+        return test(targetBits, cell);
+    }
+
+    // --- Opérations élémentaires sur les bitboards ---
+
+    public static boolean test(long[] bits, int cell) {
+        return (bits[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    public static void set(long[] bits, int cell) {
+        bits[cell >>> 6] |= 1L << cell;
+    }
+
+    public static void clear(long[] bits, int cell) {
+        bits[cell >>> 6] &= ~(1L << cell);
+    }
+}
@@ -0,0 +1,175 @@
+package com.fstt.devoir;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Lecture d'une collection de niveaux au format texte standard (.sok / .xsb).
+ *
+ * Une grille est une suite de lignes consécutives ne contenant que des symboles XSB
+ * ('#', '@', '+', '$', '*', '.', espace, '-', '_') dont au moins un mur. Entre deux grilles :
+ * - "Title: ..." donne le titre du niveau qui précède (ou du suivant si celui-ci en a déjà un),
+ * - les autres lignes "Clé: valeur" (Author, Comment...) sont ignorées,
+ * - une autre ligne de texte (éventuellement commentée par ';') sert de titre au niveau suivant,
+ *   à moins qu'il ne reçoive un "Title:".
+ * Un niveau sans titre est nommé "Niveau n" (n : position dans le fichier, à partir de 1).
+ *
+ * Le fichier est lu au fur et à mesure : un niveau n'est retenu en mémoire que jusqu'à ce que
+ * la grille suivante commence (ses métadonnées pouvant la suivre), ce qui permet de parcourir
+ * des collections de plusieurs dizaines de milliers de niveaux.
+ */
+final class LevelCollectionReader implements Iterator<LevelEntry>, Closeable {
+
+    private static final String BOARD_SYMBOLS = "#@+$*. -_";
+    private static final String TITLE_KEY = "title:";
+
+    private final BufferedReader reader;
+    private int count;
+
+    // Niveau en cours de lecture (grille et titre), complet lorsqu'une ligne hors grille le suit
+    private List<String> rows = new ArrayList<>();
+    private String title;
+    private boolean explicitTitle; // titre donné par "Title:" (prioritaire sur une ligne de texte)
+    private boolean complete;
+    // Titre du niveau suivant, lu après la grille du niveau courant
+    private String nextTitle;
+    private boolean explicitNextTitle;
+
+    private LevelEntry next;
+    private boolean finished;
+
+    LevelCollectionReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    /**
+     * Ouvre un fichier de niveaux (UTF-8).
+     */
+    static LevelCollectionReader open(Path file) throws IOException {
+        return new LevelCollectionReader(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            next = readLevel();
+            finished = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public LevelEntry next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        LevelEntry entry = next;
+        next = null;
+        return entry;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Lit jusqu'à la fin du niveau courant (début de la grille suivante ou fin du fichier).
+     * @return le niveau, ou null s'il n'y en a plus
+     */
+    private LevelEntry readLevel() {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (isBoardLine(line)) {
+                    if (complete) {
+                        // la grille suivante commence : le niveau courant est terminé
+                        LevelEntry entry = finishLevel();
+                        rows.add(line);
+                        return entry;
+                    }
+                    rows.add(line);
+                } else {
+                    complete |= !rows.isEmpty();
+                    readMetadata(line.strip());
+                }
+            }
+            return rows.isEmpty() ? null : finishLevel();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void readMetadata(String line) {
+        if (line.isEmpty()) {
+            return;
+        }
+        if (line.regionMatches(true, 0, TITLE_KEY, 0, TITLE_KEY.length())) {
+            String value = line.substring(TITLE_KEY.length()).strip();
+            if (!explicitTitle) {
+                title = value;
+                explicitTitle = true;
+            } else if (complete) {
+                nextTitle = value;
+                explicitNextTitle = true;
+            }
+            return;
+        }
+        String text = line.startsWith(";") ? line.substring(1).strip() : line;
+        if (text.isEmpty() || (!line.startsWith(";") && isKeyValue(line))) {
+            return;
+        }
+        if (!complete) {
+            // avant la grille : titre provisoire du niveau courant
+            if (!explicitTitle) {
+                title = text;
+            }
+        } else if (!explicitNextTitle) {
+            nextTitle = text;
+        }
+    }
+
+    private LevelEntry finishLevel() {
+        count++;
+        String levelTitle = title != null ? title : "Niveau " + count;
+        LevelEntry entry = new LevelEntry(levelTitle, rows.toArray(new String[0]));
+        rows = new ArrayList<>();
+        complete = false;
+        // le texte lu depuis cette grille concerne le niveau suivant
+        title = nextTitle;
+        explicitTitle = explicitNextTitle;
+        nextTitle = null;
+        explicitNextTitle = false;
+        return entry;
+    }
+
+    /**
+     * Vrai si la ligne fait partie d'une grille : symboles XSB uniquement, avec au moins un mur.
+     */
+    static boolean isBoardLine(String line) {
+        boolean wall = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (BOARD_SYMBOLS.indexOf(c) < 0) {
+                return false;
+            }
+            wall |= c == SokobanSolver.XSB_WALL;
+        }
+        return wall;
+    }
+
+    private static boolean isKeyValue(String line) {
+        int colon = line.indexOf(':');
+        return colon > 0 && line.substring(0, colon).chars().allMatch(Character::isLetter);
+    }
+}
@@ -0,0 +1,15 @@
+package com.fstt.devoir;
+
+/**
+ * Niveau d'une collection : son titre et sa grille (voir Level pour les notations acceptées).
+ */
+final class LevelEntry {
+
+    public final String title;
+    public final String[] grid;
+
+    LevelEntry(String title, String[] grid) {
+        this.title = title;
+        this.grid = grid;
+    }
+}
@@ -0,0 +1,41 @@
+package com.fstt.devoir;
+
+/**
+ * Tampons de travail d'un thread pour un niveau : zone accessible, heuristique, détection de gel
+ * et poussées candidates.
+ *
+ * Le Level reste immuable et partageable entre threads ; chaque thread garde ses propres tampons
+ * pour le dernier niveau qu'il a traité. Un seul espace de travail est conservé par thread
+ * (un thread d'un pool qui enchaîne des milliers de niveaux ne retient pas les anciens).
+ */
+final class LevelWorkspace {
+
+    private static final ThreadLocal<LevelWorkspace> CURRENT = new ThreadLocal<>();
+
+    final Level level;
+    final Reachability reachability;
+    final HungarianHeuristic heuristic;
+    final FreezeDeadlockDetector freezeDetector;
+    // Poussées relevées depuis la zone du joueur (k * 4 + direction), voir Etat.generatePushes()
+    final int[] pushes;
+
+    private LevelWorkspace(Level level) {
+        this.level = level;
+        this.reachability = new Reachability(level);
+        this.heuristic = new HungarianHeuristic(level);
+        this.freezeDetector = new FreezeDeadlockDetector(level);
+        this.pushes = new int[level.initialBoxes.length * 4];
+    }
+
+    /**
+     * Espace de travail du thread courant pour 'level' (recréé si le thread change de niveau).
+     */
+    static LevelWorkspace of(Level level) {
+        LevelWorkspace workspace = CURRENT.get();
+        if (workspace == null || workspace.level != level) {
+            workspace = new LevelWorkspace(level);
+            CURRENT.set(workspace);
+        }
+        return workspace;
+    }
+}
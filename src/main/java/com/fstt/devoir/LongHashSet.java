@@ -0,0 +1,205 @@
+package com.fstt.devoir;
+
+/**
+ * Ensemble de 'long' à adressage ouvert (sondage linéaire), sans objets intermédiaires.
+ * Utilisé comme closedList : chaque état y est représenté par sa clé de Zobrist (64 bits),
+ * soit 8 octets par état au lieu d'une String, d'un char[] et d'un nœud de HashMap.
+ * La table double de taille dès que le taux de remplissage dépasse 'maxLoad'.
+ */
+final class LongHashSet {
+
+    private static final int DEFAULT_CAPACITY = 1 << 10;
+    private static final float DEFAULT_MAX_LOAD = 0.5f;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    // 0 sert de marqueur de case vide : la clé 0 est gérée à part
+    private long[] keys;
+    private int mask;
+    private int size;
+    private boolean containsZero;
+    private final float maxLoad;
+    private int resizeThreshold;
+
+    public LongHashSet() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_LOAD);
+    }
+
+    /**
+     * @param expectedSize nombre de clés attendu (évite les agrandissements successifs)
+     * @param maxLoad taux de remplissage maximal avant doublement (entre 0 et 1 exclus)
+     */
+    public LongHashSet(int expectedSize, float maxLoad) {
+        int capacity = capacityFor(expectedSize, maxLoad);
+        this.maxLoad = maxLoad;
+        this.keys = new long[capacity];
+        this.mask = capacity - 1;
+        this.resizeThreshold = (int) (capacity * maxLoad);
+    }
+
+    /**
+     * Nombre de cases (puissance de 2, au plus MAX_CAPACITY) pour 'expectedSize' clés sous le taux 'maxLoad'.
+     * Partagé avec LongIntHashMap.
+     */
+    static int capacityFor(int expectedSize, float maxLoad) {
+        if (maxLoad <= 0 || maxLoad >= 1) {
+            throw new IllegalArgumentException("Taux de remplissage invalide: " + maxLoad);
+        }
+        long wanted = (long) Math.ceil(Math.max(expectedSize, 1) / (double) maxLoad);
+        int capacity = 16;
+        while (capacity < wanted && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Ajoute la clé ; retourne faux si elle était déjà présente.
+     */
+    public boolean add(long key) {
+        if (key == 0) {
+            if (containsZero) return false;
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int i = slot(key);
+        while (keys[i] != 0) {
+            if (keys[i] == key) return false;
+            i = (i + 1) & mask;
+        }
+        if (size + 1 > resizeThreshold) {
+            // agrandir avant l'insertion, puis rechercher la nouvelle case vide
+            resize();
+            i = slot(key);
+            while (keys[i] != 0) {
+                i = (i + 1) & mask;
+            }
+        }
+        keys[i] = key;
+        size++;
+        return true;
+    }
+
+    public boolean contains(long key) {
+        if (key == 0) return containsZero;
+        int i = slot(key);
+        while (keys[i] != 0) {
+            if (keys[i] == key) return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Taux de remplissage actuel (clés / cases).
+     */
+    public double loadFactor() {
+        return (double) size / keys.length;
+    }
+
+    /**
+     * Statistiques de sondage : pour chaque clé, la distance entre sa case idéale et
+     * sa case réelle. Calculées à la demande par un parcours complet de la table.
+     */
+    public ProbeStats probeStats() {
+        return ProbeStats.of(keys, size);
+    }
+
+    /**
+     * Résumé de l'état d'une table à adressage ouvert (taille, remplissage, longueurs de sondage).
+     */
+    static final class ProbeStats {
+        public final int size;
+        public final int capacity;
+        public final double loadFactor;
+        // nombre moyen de cases examinées pour retrouver une clé présente
+        public final double averageProbeLength;
+        public final int maxProbeLength;
+
+        ProbeStats(int size, int capacity, double loadFactor, double averageProbeLength, int maxProbeLength) {
+            this.size = size;
+            this.capacity = capacity;
+            this.loadFactor = loadFactor;
+            this.averageProbeLength = averageProbeLength;
+            this.maxProbeLength = maxProbeLength;
+        }
+
+        /**
+         * Parcourt le tableau de clés d'une table à sondage linéaire indexée par mix() (0 = case vide) ;
+         * 'size' compte aussi la clé 0, rangée hors du tableau.
+         */
+        static ProbeStats of(long[] keys, int size) {
+            int mask = keys.length - 1;
+            long total = 0;
+            int max = 0;
+            int stored = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0) {
+                    int distance = (i - (int) mix(keys[i])) & mask;
+                    total += distance + 1;
+                    max = Math.max(max, distance + 1);
+                    stored++;
+                }
+            }
+            return new ProbeStats(size, keys.length, (double) size / keys.length,
+                    stored == 0 ? 0 : (double) total / stored, max);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d clés / %d cases (remplissage %.2f), sondage moyen %.2f, max %d",
+                    size, capacity, loadFactor, averageProbeLength, maxProbeLength);
+        }
+    }
+
+    private int slot(long key) {
+        return (int) mix(key) & mask;
+    }
+
+    /**
+     * Double la capacité et réinsère toutes les clés.
+     */
+    private void resize() {
+        if (keys.length >= MAX_CAPACITY) {
+            // taille maximale atteinte : on remplit au-delà du seuil en gardant une case vide
+            if (size + 1 >= keys.length) {
+                throw new IllegalStateException("LongHashSet plein (" + size + " clés)");
+            }
+            resizeThreshold = keys.length - 1;
+            return;
+        }
+        long[] old = keys;
+        keys = new long[old.length * 2];
+        mask = keys.length - 1;
+        resizeThreshold = (int) (keys.length * maxLoad);
+        for (long key : old) {
+            if (key != 0) {
+                int i = slot(key);
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+            }
+        }
+    }
+
+    /**
+     * Mélange des bits (finaliseur de MurmurHash3) pour répartir les clés dans la table.
+     */
+    static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
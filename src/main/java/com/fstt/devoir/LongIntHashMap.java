@@ -0,0 +1,139 @@
+package com.fstt.devoir;
+
+/**
+ * Table 'long' -> 'int' à adressage ouvert (sondage linéaire), sur le modèle de LongHashSet.
+ * Associe à chaque clé de Zobrist le meilleur coût g avec lequel l'état a été atteint,
+ * ce qui permet de rouvrir un état retrouvé avec un coût plus faible.
+ * La table double de taille dès que le taux de remplissage dépasse 'maxLoad'.
+ */
+final class LongIntHashMap {
+
+    // Valeur renvoyée par get() pour une clé absente
+    public static final int ABSENT = -1;
+
+    private static final int DEFAULT_CAPACITY = 1 << 10;
+    private static final float DEFAULT_MAX_LOAD = 0.5f;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    // 0 sert de marqueur de case vide : la clé 0 est gérée à part
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int zeroValue = ABSENT;
+    private final float maxLoad;
+    private int resizeThreshold;
+
+    public LongIntHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_LOAD);
+    }
+
+    /**
+     * @param expectedSize nombre de clés attendu (évite les agrandissements successifs)
+     * @param maxLoad taux de remplissage maximal avant doublement (entre 0 et 1 exclus)
+     */
+    public LongIntHashMap(int expectedSize, float maxLoad) {
+        int capacity = LongHashSet.capacityFor(expectedSize, maxLoad);
+        this.maxLoad = maxLoad;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+        this.resizeThreshold = (int) (capacity * maxLoad);
+    }
+
+    /**
+     * Valeur associée à la clé, ou ABSENT.
+     */
+    public int get(long key) {
+        if (key == 0) return zeroValue;
+        int i = slot(key);
+        while (keys[i] != 0) {
+            if (keys[i] == key) return values[i];
+            i = (i + 1) & mask;
+        }
+        return ABSENT;
+    }
+
+    /**
+     * Enregistre 'value' si la clé est absente ou si sa valeur actuelle est plus grande.
+     * @return vrai si la table a été modifiée (nouvelle clé ou amélioration)
+     */
+    public boolean putIfLower(long key, int value) {
+        if (key == 0) {
+            if (zeroValue != ABSENT && zeroValue <= value) return false;
+            if (zeroValue == ABSENT) size++;
+            zeroValue = value;
+            return true;
+        }
+        int i = slot(key);
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                if (values[i] <= value) return false;
+                values[i] = value;
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        if (size + 1 > resizeThreshold) {
+            // agrandir avant l'insertion, puis rechercher la nouvelle case vide
+            resize();
+            i = slot(key);
+            while (keys[i] != 0) {
+                i = (i + 1) & mask;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Statistiques de sondage (voir LongHashSet.probeStats()), calculées par un parcours complet de la table.
+     */
+    public LongHashSet.ProbeStats probeStats() {
+        return LongHashSet.ProbeStats.of(keys, size);
+    }
+
+    private int slot(long key) {
+        return (int) LongHashSet.mix(key) & mask;
+    }
+
+    /**
+     * Double la capacité et réinsère toutes les entrées.
+     */
+    private void resize() {
+        if (keys.length >= MAX_CAPACITY) {
+            // taille maximale atteinte : on remplit au-delà du seuil en gardant une case vide
+            if (size + 1 >= keys.length) {
+                throw new IllegalStateException("LongIntHashMap plein (" + size + " clés)");
+            }
+            resizeThreshold = keys.length - 1;
+            return;
+        }
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        mask = keys.length - 1;
+        resizeThreshold = (int) (keys.length * maxLoad);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != 0) {
+                int i = slot(oldKeys[j]);
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+}
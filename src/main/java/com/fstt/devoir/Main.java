@@ -1,6 +1,8 @@
 package com.fstt.devoir;
 
-import java.util.LinkedList;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -10,9 +12,16 @@ import java.util.List;
 public class Main {
 
     /**
-     * Exécution principale : lance les simulations de test.
+     * Exécution principale : lance les simulations de test, ou résout la collection
+     * de niveaux passée en argument (fichier .sok / .xsb, limite de temps optionnelle en secondes).
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0) {
+            Duration timeLimit = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 60);
+            resoudreCollection(Path.of(args[0]), timeLimit);
+            return;
+        }
+
         // les tests donnée dans le devoire
         System.out.println("--- Résolution Sokoban: 1er test ---");
         // NOTE: Les caisses '$' ont été renommées 'a', 'b', 'c', 'd'
@@ -47,6 +56,35 @@ public class Main {
         };
         // Appel de la méthode statique 'solve' de la classe SokobanSolver
         simuler(test2, "Test 2");
+
+        // Résolution par lot : les niveaux sont résolus en parallèle, chaque résultat est affiché dès qu'il est prêt
+        System.out.println("\n--- Résolution Sokoban par lot ---");
+        SolverOptions options = new SolverOptions();
+        options.mode = SolverOptions.SearchMode.PUSHES;
+        options.timeLimit = Duration.ofSeconds(10);
+        BatchSolver.solveAll(List.of(test1, test2).iterator(), options,
+                Runtime.getRuntime().availableProcessors(), System.out::println);
+    }
+
+    /**
+     * Résout en parallèle tous les niveaux d'un fichier de collection, lu au fur et à mesure,
+     * et affiche le résultat de chaque niveau dès qu'il est terminé.
+     */
+    private static void resoudreCollection(Path fichier, Duration timeLimit) throws IOException {
+        SolverOptions options = new SolverOptions();
+        options.mode = SolverOptions.SearchMode.PUSHES;
+        options.timeLimit = timeLimit;
+        // les caisses XSB ('$') sont indiscernables
+        options.identicalBoxes = true;
+        // métriques de l'ensemble du lot, consultables par JMX pendant la résolution
+        options.metrics = new SearchMetrics();
+        options.metrics.register(fichier.getFileName().toString());
+        try (LevelCollectionReader niveaux = LevelCollectionReader.open(fichier)) {
+            BatchSolver.solveEntries(niveaux, options, Runtime.getRuntime().availableProcessors(), System.out::println);
+        } finally {
+            options.metrics.unregister();
+        }
+        System.out.println("Métriques: " + options.metrics);
     }
 
     /**
@@ -58,23 +96,27 @@ public class Main {
     // 1) mesurer le temps de résolution
         long startTime = System.currentTimeMillis();
 
-    // 2) lancer le solveur (retourne l'état final si trouvé)
-        Etat etatFinal = SokobanSolver.solve(grille);
+    // 2) lancer le solveur (retourne l'issue de la recherche et l'état final si trouvé)
+        // recherche au niveau des poussées : un nœud par configuration de caisses
+        SolverOptions options = new SolverOptions();
+        options.mode = SolverOptions.SearchMode.PUSHES;
+        SearchResult resultat = SokobanSolver.search(new Level(grille), options);
 
         long endTime = System.currentTimeMillis();
 
         // 3) afficher les résultats et métriques
-        if (etatFinal != null) {
+        if (resultat.status == SearchResult.Status.SOLVED) {
             System.out.println("\n" + nomTest + " - Solution trouvée!");
             // Métrique: Temps de résolution
             System.out.println("Temps de résolution: " + (endTime - startTime) + " ms");
             // Métrique: Nombre de nœuds explorés (géré par solve())
 
             // 4. Reconstruire et afficher le chemin
-            reconstruireChemin(etatFinal);
+            reconstruireChemin(resultat.goal);
 
         } else {
-            System.out.println("\n" + nomTest + " - Solution non trouvée!");
+            // UNSOLVABLE, ou recherche interrompue (TIMEOUT, NODE_LIMIT, MEMORY_LIMIT, CANCELLED)
+            System.out.println("\n" + nomTest + " - Solution non trouvée! (" + resultat.status + ")");
         }
     }
 
@@ -83,31 +125,27 @@ public class Main {
      * seulement les étapes où une poussée a eu lieu, avec la grille.
      */
     private static void reconstruireChemin(Etat etatFinal) {
-        LinkedList<Etat> solutionEtats = new LinkedList<>();
-        Etat courant = etatFinal;
-
-        // remonter la liste parentale jusqu'à l'état initial
-        while (courant != null) {
-            solutionEtats.addFirst(courant);
-            courant = courant.parent;
-        }
+        // remonter la liste parentale jusqu'à l'état initial (et recalculer les déplacements du joueur)
+        Solution solution = new Solution(etatFinal);
 
     // afficher la longueur optimale (g_cost = nombre de poussées)
-        System.out.println("Longueur de la solution optimale: " + etatFinal.g_cost + " poussées");
+        System.out.println("Longueur de la solution optimale: " + solution.pushes() + " poussées");
+        System.out.println("Mouvements (LURD): " + solution.moves);
         System.out.println("Chemin des poussées avec visualisation:");
 
         int pushCount = 0;
-        for (Etat etat : solutionEtats) {
+        for (int i = 0; i < solution.states.size(); i++) {
+            Etat etat = solution.states.get(i);
             // afficher l'état initial
             if (etat.parent == null) {
                 System.out.println("\n--- ÉTAT INITIAL ---");
-                SokobanSolver.displayBoard(etat.board);
+                SokobanSolver.displayBoard(etat.toBoard(solution.playerCells[i]));
             }
             // n'afficher que les états résultant d'une poussée (les autres sont des mouvements gratuits)
-            else if (etat.action != null && etat.action.startsWith("PUSH")) {
+            else if (Move.isPush(etat.move)) {
                 pushCount++;
-                System.out.println("\n" + pushCount + ". " + etat.action);
-                SokobanSolver.displayBoard(etat.board);
+                System.out.println("\n" + pushCount + ". " + Move.toString(etat.level, etat.move));
+                SokobanSolver.displayBoard(etat.toBoard(solution.playerCells[i]));
             }
         }
         System.out.println("\n--- FIN DE LA SOLUTION ---");
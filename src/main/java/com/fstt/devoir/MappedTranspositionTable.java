@@ -0,0 +1,157 @@
+package com.fstt.devoir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Table de transposition hors tas, projetée en mémoire depuis un fichier sur disque local.
+ * Permet d'explorer bien plus d'états que ne le permet le tas Java, sans pression sur le GC :
+ * le système d'exploitation gère la mise en cache des pages du fichier.
+ *
+ * Disposition fixe :
+ * - la table est un tableau de paniers de 64 octets (une ligne de cache),
+ * - chaque panier contient 4 entrées de 16 octets : clé (8 octets), meilleur g (4), réservé (4),
+ * - une clé est rangée dans le panier désigné par son hachage, ou dans les suivants s'il est plein.
+ * La taille est fixée à la création : la table ne s'agrandit pas.
+ */
+final class MappedTranspositionTable implements ClosedList {
+
+    private static final int ENTRY_BYTES = 16;
+    private static final int ENTRIES_PER_BUCKET = 4;
+    private static final int BUCKET_BYTES = ENTRY_BYTES * ENTRIES_PER_BUCKET;
+    // Une projection (MappedByteBuffer) est limitée à 2 Go : la table est découpée en segments de 1 Go
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_BYTES = 1L << SEGMENT_SHIFT;
+    private static final long BUCKETS_PER_SEGMENT = SEGMENT_BYTES / BUCKET_BYTES;
+    // Remplissage visé pour la capacité demandée (les sondages restent courts)
+    private static final double TARGET_LOAD = 0.75;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final long bucketMask;
+    private long size;
+    // La clé 0 marque une entrée vide : elle est gérée à part
+    private int zeroG = ABSENT;
+
+    /**
+     * @param file fichier de la table (créé ou écrasé, supprimé à la fermeture)
+     * @param capacity nombre d'états que la table doit pouvoir contenir
+     */
+    public MappedTranspositionTable(Path file, long capacity) {
+        long wanted = (long) Math.ceil(capacity / (ENTRIES_PER_BUCKET * TARGET_LOAD));
+        long buckets = 1;
+        while (buckets < wanted) {
+            buckets <<= 1;
+        }
+        this.bucketMask = buckets - 1;
+        this.file = file;
+
+        long totalBytes = buckets * BUCKET_BYTES;
+        int segmentCount = (int) ((totalBytes + SEGMENT_BYTES - 1) >>> SEGMENT_SHIFT);
+        this.segments = new MappedByteBuffer[segmentCount];
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            // Le fichier est creux : les pages ne sont écrites qu'à leur première utilisation
+            for (int s = 0; s < segmentCount; s++) {
+                long offset = (long) s << SEGMENT_SHIFT;
+                segments[s] = channel.map(FileChannel.MapMode.READ_WRITE, offset, Math.min(SEGMENT_BYTES, totalBytes - offset));
+                segments[s].order(ByteOrder.nativeOrder());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible de créer la table de transposition " + file, e);
+        }
+    }
+
+    @Override
+    public boolean add(long key, int g) {
+        if (key == 0) {
+            if (zeroG != ABSENT && zeroG <= g) return false;
+            if (zeroG == ABSENT) size++;
+            zeroG = g;
+            return true;
+        }
+        long bucket = LongHashSet.mix(key) & bucketMask;
+        for (long probe = 0; probe <= bucketMask; probe++) {
+            MappedByteBuffer segment = segments[(int) (bucket / BUCKETS_PER_SEGMENT)];
+            int base = (int) ((bucket % BUCKETS_PER_SEGMENT) * BUCKET_BYTES);
+            for (int e = 0; e < ENTRIES_PER_BUCKET; e++) {
+                int offset = base + e * ENTRY_BYTES;
+                long stored = segment.getLong(offset);
+                if (stored == key) {
+                    // déjà présente : ne conserver que le meilleur g (l'état est alors rouvert)
+                    if (g < segment.getInt(offset + 8)) {
+                        segment.putInt(offset + 8, g);
+                        return true;
+                    }
+                    return false;
+                }
+                if (stored == 0) {
+                    segment.putLong(offset, key);
+                    segment.putInt(offset + 8, g);
+                    size++;
+                    return true;
+                }
+            }
+            bucket = (bucket + 1) & bucketMask;
+        }
+        throw new IllegalStateException("Table de transposition pleine (" + size + " états)");
+    }
+
+    @Override
+    public int bestG(long key) {
+        if (key == 0) {
+            return zeroG;
+        }
+        long bucket = LongHashSet.mix(key) & bucketMask;
+        for (long probe = 0; probe <= bucketMask; probe++) {
+            MappedByteBuffer segment = segments[(int) (bucket / BUCKETS_PER_SEGMENT)];
+            int base = (int) ((bucket % BUCKETS_PER_SEGMENT) * BUCKET_BYTES);
+            for (int e = 0; e < ENTRIES_PER_BUCKET; e++) {
+                int offset = base + e * ENTRY_BYTES;
+                long stored = segment.getLong(offset);
+                if (stored == key) {
+                    return segment.getInt(offset + 8);
+                }
+                if (stored == 0) {
+                    return ABSENT;
+                }
+            }
+            bucket = (bucket + 1) & bucketMask;
+        }
+        return ABSENT;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public String stats() {
+        long slots = (bucketMask + 1) * ENTRIES_PER_BUCKET;
+        return String.format("%d clés / %d entrées hors tas (remplissage %.2f), fichier %s",
+                size, slots, (double) size / slots, file);
+    }
+
+    /**
+     * Ferme le canal et supprime le fichier. Les pages projetées sont libérées
+     * par la JVM lorsque les tampons deviennent inaccessibles.
+     */
+    @Override
+    public void close() {
+        try {
+            channel.close();
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.fstt.devoir;
+
+/**
+ * Codage compact (un int) du mouvement qui mène à un état, à la place d'une chaîne par état.
+ *
+ * Bits 0-1 : direction (indice dans DIRS) ; bit 2 : poussée ; bits 3 et suivants : indice de la
+ * caisse poussée. Le nombre de caisses n'étant pas borné, un octet ne suffirait pas. L'état initial
+ * n'a pas de mouvement (NONE). Le texte ("PUSH 'a' UP") n'est produit qu'à l'affichage de la solution.
+ */
+final class Move {
+
+    // Aucun mouvement (état initial)
+    public static final int NONE = -1;
+
+    private static final int PUSH_FLAG = 4;
+    private static final int BOX_SHIFT = 3;
+
+    private Move() {
+    }
+
+    /**
+     * Déplacement simple du joueur dans la direction 'dir'.
+     */
+    static int walk(int dir) {
+        return dir;
+    }
+
+    /**
+     * Poussée de la caisse d'indice 'box' dans la direction 'dir'.
+     */
+    static int push(int box, int dir) {
+        return box << BOX_SHIFT | PUSH_FLAG | dir;
+    }
+
+    static boolean isPush(int move) {
+        return move != NONE && (move & PUSH_FLAG) != 0;
+    }
+
+    static int direction(int move) {
+        return move & 3;
+    }
+
+    /**
+     * Indice de la caisse poussée (poussée uniquement).
+     */
+    static int box(int move) {
+        return move >>> BOX_SHIFT;
+    }
+
+    /**
+     * Description lisible du mouvement (ex: "PUSH 'a' UP", "MOVE LEFT"), ou null pour NONE.
+     */
+    static String toString(Level level, int move) {
+        if (move == NONE) {
+            return null;
+        }
+        String direction = SokobanSolver.DIR_NAMES[direction(move)];
+        return isPush(move) ? "PUSH '" + level.boxLabel(box(move)) + "' " + direction : "MOVE " + direction;
+    }
+}
@@ -0,0 +1,37 @@
+package com.fstt.devoir;
+
+/**
+ * openList de l'A* : états générés en attente de développement, retirés par f_cost croissant
+ * (les égalités de f selon SolverOptions.tieBreaking).
+ * Deux implémentations :
+ * - HeapOpenList : tas binaire (PriorityQueue), O(log n) par opération,
+ * - BucketOpenList : un seau par valeur de f (petits entiers), O(1) par opération.
+ */
+interface OpenList {
+
+    void add(Etat etat);
+
+    /**
+     * Retire et renvoie un état de f_cost minimal, ou null si la liste est vide.
+     */
+    Etat poll();
+
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * openList demandée par les options.
+     */
+    static OpenList create(SolverOptions options) {
+        switch (options.openList) {
+            case BUCKETS:
+                return new BucketOpenList(options.tieBreaking);
+            case HEAP:
+            default:
+                return new HeapOpenList(options.tieBreaking);
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.fstt.devoir;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A* parallèle à distribution par hachage (HDA*), au niveau des poussées.
+ *
+ * Chaque thread (worker) possède une partie de l'espace d'états : celle des états dont la clé
+ * de Zobrist lui est attribuée (clé modulo nombre de workers). Il a sa propre openList et sa
+ * propre closedList (meilleur g par clé) ; les successeurs appartenant à un autre worker lui
+ * sont envoyés par une file sans verrou (ConcurrentLinkedQueue).
+ *
+ * Optimalité : la première solution trouvée n'est qu'une borne. Les workers continuent tant
+ * qu'il reste des états de f inférieur au coût de la meilleure solution (les autres sont
+ * élagués), et un état est rouvert s'il est retrouvé avec un g plus faible.
+ * Terminaison : un compteur global recense les états en attente (dans une openList ou une
+ * file) ; les successeurs sont comptés avant d'être publiés et le parent décompté ensuite,
+ * si bien que le compteur ne tombe à zéro que lorsqu'il ne reste réellement plus rien à traiter.
+ * Budget : chaque nœud exploré est compté dans un compteur global (coût négligeable devant le
+ * développement d'un nœud), comparé aux limites par le worker qui l'incrémente.
+ */
+final class ParallelAStarSolver {
+
+    private final Worker[] workers;
+    // États en attente de traitement, tous workers confondus
+    private final AtomicLong pending = new AtomicLong();
+    // Meilleure solution connue (null tant qu'aucune n'est trouvée)
+    private volatile Etat best;
+    private volatile int bestCost = Integer.MAX_VALUE;
+    private volatile Throwable failure;
+
+    private final SearchBudget budget;
+    // Nœuds explorés, tous workers confondus
+    private final AtomicLong totalNodes = new AtomicLong();
+    private volatile SearchResult.Status stopReason;
+
+    // Métriques facultatives ; la taille d'openList publiée est le nombre d'états en attente ('pending')
+    private final SearchMetrics metrics;
+
+    private ParallelAStarSolver(SolverOptions options, SearchBudget budget) {
+        this.budget = budget;
+        this.metrics = options.metrics;
+        this.workers = new Worker[Math.max(1, options.threads)];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker(i, options);
+        }
+    }
+
+    /**
+     * Résout le niveau à partir de l'état initial (joueur normalisé) avec 'options.threads' workers.
+     * @return l'issue de la recherche et, en cas de succès, l'état final de coût minimal
+     */
+    static SearchResult solve(Etat etatInitial, SolverOptions options, SearchBudget budget) {
+        ParallelAStarSolver solver = new ParallelAStarSolver(options, budget);
+        solver.pending.set(1);
+        if (solver.metrics != null) {
+            solver.metrics.openListChanged(1);
+        }
+        solver.owner(etatInitial.hash).inbox.add(etatInitial);
+
+        List<Thread> threads = new ArrayList<>();
+        for (Worker worker : solver.workers) {
+            Thread thread = new Thread(worker, "hda-worker-" + worker.id);
+            threads.add(thread);
+            thread.start();
+        }
+        // Interrompu : arrêter les workers (ils ne consultent pas leur indicateur d'interruption), puis
+        // les attendre quand même pour qu'aucun ne modifie plus rien une fois la méthode terminée
+        InterruptedException interrupted = null;
+        try {
+            for (Thread thread : threads) {
+                while (true) {
+                    try {
+                        thread.join();
+                        break;
+                    } catch (InterruptedException e) {
+                        if (interrupted == null) {
+                            interrupted = e;
+                            solver.stopReason = SearchResult.Status.CANCELLED;
+                        }
+                    }
+                }
+            }
+            if (interrupted != null) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Recherche parallèle interrompue", interrupted);
+            }
+            if (solver.failure != null) {
+                throw new IllegalStateException("Échec d'un worker de la recherche parallèle", solver.failure);
+            }
+        } finally {
+            if (solver.metrics != null) {
+                // la recherche est terminée : ses listes ne comptent plus dans les tailles publiées
+                solver.metrics.openListChanged(-solver.pending.get());
+                for (Worker worker : solver.workers) {
+                    solver.metrics.closedListChanged(-worker.closedList.size());
+                }
+            }
+        }
+
+        long exploredNodes = 0;
+        for (Worker worker : solver.workers) {
+            exploredNodes += worker.exploredNodes;
+        }
+        if (options.verbose) {
+            System.out.println("Nombre de nœuds explorés par HDA* (" + solver.workers.length + " threads): " + exploredNodes);
+        }
+        if (solver.stopReason != null) {
+            // une solution éventuellement trouvée n'est pas prouvée optimale
+            return SearchResult.stopped(solver.stopReason, exploredNodes);
+        }
+        if (solver.best == null) {
+            return SearchResult.stopped(SearchResult.Status.UNSOLVABLE, exploredNodes);
+        }
+        if (options.compactPaths) {
+            // chaque clé est dans la table de son worker propriétaire
+            long entries = 0;
+            for (Worker worker : solver.workers) {
+                entries += worker.predecessors.size();
+            }
+            int[] path = PredecessorTable.path(etatInitial.hash, solver.best, key -> solver.owner(key).predecessors, entries);
+            return SearchResult.solved(etatInitial.replay(path, true), exploredNodes);
+        }
+        return SearchResult.solved(solver.best, exploredNodes);
+    }
+
+    private Worker owner(long hash) {
+        return workers[(int) Long.remainderUnsigned(hash, workers.length)];
+    }
+
+    /**
+     * Enregistre une solution si elle améliore la meilleure connue.
+     */
+    private synchronized void offerSolution(Etat goal) {
+        if (goal.g_cost < bestCost) {
+            best = goal;
+            bestCost = goal.g_cost;
+        }
+    }
+
+    private final class Worker implements Runnable {
+
+        final int id;
+        final ConcurrentLinkedQueue<Etat> inbox = new ConcurrentLinkedQueue<>();
+        final OpenList openList;
+        final LongIntHashMap closedList;
+        // Chemins compacts : prédécesseur des états développés par ce worker (null sinon)
+        final PredecessorTable predecessors;
+        // Doublons écartés avant construction : seuls les successeurs de ce worker sont connus localement
+        final SuccessorFilter filter = this::isNew;
+        // Successeurs du nœud développé (liste réutilisée d'un nœud à l'autre)
+        final List<Etat> successors = new ArrayList<>();
+        long exploredNodes;
+
+        Worker(int id, SolverOptions options) {
+            this.id = id;
+            this.openList = OpenList.create(options);
+            // chaque worker ne ferme que sa part des états
+            int expectedSize = (int) ((options.closedListExpectedSize + (long) workers.length - 1) / workers.length);
+            this.closedList = new LongIntHashMap(expectedSize, options.closedListMaxLoad);
+            this.predecessors = options.compactPaths ? new PredecessorTable() : null;
+        }
+
+        @Override
+        public void run() {
+            try {
+                int idleRounds = 0;
+                while (failure == null && stopReason == null) {
+                    // 1) recevoir les états envoyés par les autres workers, en écartant ceux déjà fermés ici
+                    for (Etat received; (received = inbox.poll()) != null; ) {
+                        if (isNew(received.hash, received.g_cost)) {
+                            openList.add(received);
+                        } else {
+                            pending.decrementAndGet();
+                            if (metrics != null) {
+                                metrics.openListChanged(-1);
+                            }
+                        }
+                    }
+
+                    Etat current = openList.poll();
+                    if (current == null) {
+                        if (pending.get() == 0) {
+                            return; // plus rien à traiter nulle part
+                        }
+                        idle(++idleRounds);
+                        continue;
+                    }
+                    idleRounds = 0;
+                    expand(current);
+                    // le parent est traité : ses successeurs ont déjà été comptés
+                    pending.decrementAndGet();
+                    if (metrics != null) {
+                        metrics.openListChanged(-1);
+                    }
+                }
+            } catch (Throwable t) {
+                failure = t;
+            }
+        }
+
+        private void expand(Etat current) {
+            // élaguer : ne peut pas améliorer la meilleure solution, ou déjà atteint avec un g meilleur ou égal
+            if (current.f_cost >= bestCost) {
+                return;
+            }
+            int closedBefore = closedList.size();
+            // consultation déjà comptée à la génération (isNew), pas une seconde fois ici
+            boolean improved = closedList.putIfLower(current.hash, current.g_cost);
+            if (metrics != null) {
+                metrics.closedListChanged(closedList.size() - closedBefore);
+                if (improved && closedList.size() == closedBefore) {
+                    metrics.stateReopened();
+                }
+            }
+            if (!improved) {
+                return;
+            }
+            if (predecessors != null && current.move != Move.NONE) {
+                // enregistré (ou remplacé, si l'état est rouvert avec un g plus faible) par son seul propriétaire
+                predecessors.put(current.hash, current.parentHash, current.move);
+            }
+            // budget vérifié sur les nœuds explorés avant celui-ci
+            SearchResult.Status exceeded = budget.exceeded(totalNodes.getAndIncrement());
+            if (exceeded != null) {
+                stopReason = exceeded;
+                return;
+            }
+            exploredNodes++;
+            if (metrics != null) {
+                metrics.nodeExpanded();
+                metrics.fBound(current.f_cost);
+            }
+            if (current.isGoal()) {
+                offerSolution(current);
+                return;
+            }
+
+            successors.clear();
+            current.generatePushes(metrics, filter, successors);
+            int kept = 0;
+            for (int i = 0; i < successors.size(); i++) {
+                Etat next = successors.get(i);
+                if (next.f_cost < bestCost) {
+                    if (predecessors != null) {
+                        // le parent pourra être collecté : seule sa clé (parentHash) est conservée
+                        next.parent = null;
+                    }
+                    if (next.isGoal()) {
+                        // solution publiée dès sa génération : la borne élague aussitôt les autres workers
+                        offerSolution(next);
+                        continue;
+                    }
+                    successors.set(kept++, next);
+                }
+            }
+            // compter les successeurs avant de les rendre visibles aux autres workers
+            pending.addAndGet(kept);
+            if (metrics != null) {
+                metrics.openListChanged(kept);
+            }
+            for (int i = 0; i < kept; i++) {
+                Etat next = successors.get(i);
+                Worker target = owner(next.hash);
+                if (target == this) {
+                    openList.add(next);
+                } else {
+                    target.inbox.add(next);
+                }
+            }
+        }
+
+        /**
+         * Faux si le successeur appartient à ce worker et a déjà été développé avec un g inférieur ou égal.
+         * Les successeurs des autres workers sont toujours envoyés (leur closedList n'est pas partagée) :
+         * leur propriétaire les consulte, et les compte, à la réception.
+         */
+        private boolean isNew(long hash, int g) {
+            if (owner(hash) != this) {
+                return true;
+            }
+            int closedG = closedList.get(hash);
+            boolean closed = closedG != LongIntHashMap.ABSENT && closedG <= g;
+            if (metrics != null) {
+                metrics.closedListLookup(closed);
+            }
+            return !closed;
+        }
+
+        private void idle(int rounds) {
+            if (rounds < 100) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(50_000);
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.fstt.devoir;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+/**
+ * Table des prédécesseurs : clé de Zobrist d'un état développé -> (clé de son prédécesseur, mouvement).
+ *
+ * Remplace les pointeurs 'parent' des états (SolverOptions.compactPaths) : les états développés
+ * ne sont plus retenus par leurs descendants et peuvent être collectés ; il ne reste en mémoire
+ * que 20 octets par case de table (au plus deux cases par état fermé, dans trois tableaux
+ * primitifs). Le chemin est retrouvé à la fin en remontant les clés depuis l'état final, puis
+ * rejoué depuis l'état initial (voir Etat.replay()).
+ *
+ * Adressage ouvert (sondage linéaire) sur le modèle de LongIntHashMap ; la table double de taille
+ * dès que le taux de remplissage dépasse 1/2.
+ */
+final class PredecessorTable {
+
+    private static final int DEFAULT_CAPACITY = 1 << 10;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    // 0 sert de marqueur de case vide : la clé 0 est gérée à part
+    private long[] keys;
+    private long[] predecessors;
+    private int[] moves;
+    private int mask;
+    private int size;
+    private long zeroPredecessor;
+    private int zeroMove = Move.NONE;
+
+    public PredecessorTable() {
+        this.keys = new long[DEFAULT_CAPACITY];
+        this.predecessors = new long[DEFAULT_CAPACITY];
+        this.moves = new int[DEFAULT_CAPACITY];
+        this.mask = DEFAULT_CAPACITY - 1;
+    }
+
+    /**
+     * Enregistre (ou remplace, si l'état est rouvert avec un meilleur coût) le prédécesseur de 'key'
+     * et le mouvement qui en part.
+     */
+    public void put(long key, long predecessor, int move) {
+        if (key == 0) {
+            if (zeroMove == Move.NONE) size++;
+            zeroPredecessor = predecessor;
+            zeroMove = move;
+            return;
+        }
+        int i = slot(key);
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                predecessors[i] = predecessor;
+                moves[i] = move;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        if (size + 1 > (mask + 1) >>> 1) {
+            // agrandir avant l'insertion, puis rechercher la nouvelle case vide
+            resize();
+            i = slot(key);
+            while (keys[i] != 0) {
+                i = (i + 1) & mask;
+            }
+        }
+        keys[i] = key;
+        predecessors[i] = predecessor;
+        moves[i] = move;
+        size++;
+    }
+
+    /**
+     * Mouvement qui mène à 'key' depuis son prédécesseur, ou Move.NONE si la clé est absente.
+     */
+    public int move(long key) {
+        if (key == 0) return zeroMove;
+        int i = find(key);
+        return i < 0 ? Move.NONE : moves[i];
+    }
+
+    /**
+     * Clé du prédécesseur de 'key' (la clé doit être présente, voir move()).
+     */
+    public long predecessor(long key) {
+        if (key == 0) return zeroPredecessor;
+        int i = find(key);
+        if (i < 0) {
+            throw new IllegalStateException("Clé absente de la table des prédécesseurs: " + key);
+        }
+        return predecessors[i];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Mouvements de l'état initial (clé 'initialKey') jusqu'à 'goal', dans l'ordre.
+     * @param tableOf table qui contient chaque clé (une seule, ou celle du worker propriétaire en HDA*)
+     * @param maxLength nombre total d'entrées des tables : un chemin plus long trahit un cycle (collision de clés)
+     */
+    static int[] path(long initialKey, Etat goal, LongFunction<PredecessorTable> tableOf, long maxLength) {
+        int[] reversed = new int[64];
+        int count = 0;
+        reversed[count++] = goal.move;
+        for (long key = goal.parentHash; key != initialKey; ) {
+            PredecessorTable table = tableOf.apply(key);
+            int move = table.move(key);
+            if (move == Move.NONE || count > maxLength) {
+                throw new IllegalStateException("Chemin incomplet dans la table des prédécesseurs");
+            }
+            if (count == reversed.length) {
+                reversed = Arrays.copyOf(reversed, count * 2);
+            }
+            reversed[count++] = move;
+            key = table.predecessor(key);
+        }
+        int[] path = new int[count];
+        for (int i = 0; i < count; i++) {
+            path[i] = reversed[count - 1 - i];
+        }
+        return path;
+    }
+
+    private int find(long key) {
+        int i = slot(key);
+        while (keys[i] != 0) {
+            if (keys[i] == key) return i;
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slot(long key) {
+        return (int) LongHashSet.mix(key) & mask;
+    }
+
+    /**
+     * Double la capacité et réinsère toutes les entrées.
+     */
+    private void resize() {
+        if (keys.length >= MAX_CAPACITY) {
+            throw new IllegalStateException("PredecessorTable plein (" + size + " clés)");
+        }
+        long[] oldKeys = keys;
+        long[] oldPredecessors = predecessors;
+        int[] oldMoves = moves;
+        keys = new long[oldKeys.length * 2];
+        predecessors = new long[oldKeys.length * 2];
+        moves = new int[oldKeys.length * 2];
+        mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != 0) {
+                int i = slot(oldKeys[j]);
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                predecessors[i] = oldPredecessors[j];
+                moves[i] = oldMoves[j];
+            }
+        }
+    }
+}
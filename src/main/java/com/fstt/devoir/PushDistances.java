@@ -0,0 +1,55 @@
+package com.fstt.devoir;
+
+import java.util.Arrays;
+
+/**
+ * Prétraitement du niveau : nombre minimal de poussées pour amener une caisse de chaque case
+ * sur chaque cible, en respectant les murs (les autres caisses sont ignorées).
+ *
+ * Pour chaque cible, un BFS inverse "tire" la caisse depuis la cible : la caisse peut venir de la
+ * case voisine 'from' dans la direction d si le joueur a pu se placer derrière elle, c'est-à-dire
+ * si la case suivante dans la même direction n'est pas un mur.
+ * Une case d'où aucune poussée ne mène à la cible a la distance UNREACHABLE.
+ */
+final class PushDistances {
+
+    public static final short UNREACHABLE = Short.MAX_VALUE;
+
+    private PushDistances() {
+    }
+
+    /**
+     * Table des distances : distances[cell * targetCells.length + t].
+     */
+    static short[] compute(Level level) {
+        int targets = level.targetCells.length;
+        short[] distances = new short[level.cellCount * targets];
+        Arrays.fill(distances, UNREACHABLE);
+        int[] queue = new int[level.cellCount];
+
+        for (int t = 0; t < targets; t++) {
+            int head = 0, tail = 0;
+            int target = level.targetCells[t];
+            distances[target * targets + t] = 0;
+            queue[tail++] = target;
+            while (head < tail) {
+                int box = queue[head++];
+                short next = (short) (distances[box * targets + t] + 1);
+                for (int d = 0; d < 4; d++) {
+                    // la caisse arrive sur 'box' en venant de 'from', poussée par un joueur placé sur 'behind'
+                    int from = level.neighbor(box, d);
+                    if (from < 0 || distances[from * targets + t] != UNREACHABLE) {
+                        continue;
+                    }
+                    int behind = level.neighbor(from, d);
+                    if (behind < 0) {
+                        continue;
+                    }
+                    distances[from * targets + t] = next;
+                    queue[tail++] = from;
+                }
+            }
+        }
+        return distances;
+    }
+}
@@ -0,0 +1,92 @@
+package com.fstt.devoir;
+
+import java.util.Arrays;
+
+/**
+ * Zone accessible au joueur pour une configuration de caisses donnée (remplissage par diffusion).
+ * Sert à la recherche au niveau des poussées :
+ * - normaliser la position du joueur (plus petite case accessible = case la plus en haut à gauche),
+ * - énumérer les poussées possibles depuis la zone,
+ * - reconstruire les déplacements du joueur entre deux poussées (BFS).
+ *
+ * Les tampons sont réutilisés d'un appel à l'autre : une instance par thread (voir Level.reachability()).
+ */
+final class Reachability {
+
+    private final Level level;
+    // mark[cell] == stamp  <=>  cell atteinte lors du dernier remplissage
+    private final int[] mark;
+    private int stamp;
+    private final int[] queue;
+    // Direction utilisée pour atteindre chaque case (reconstruction du chemin)
+    private final int[] via;
+
+    Reachability(Level level) {
+        this.level = level;
+        this.mark = new int[level.cellCount];
+        this.queue = new int[level.cellCount];
+        this.via = new int[level.cellCount];
+    }
+
+    /**
+     * Marque toutes les cases accessibles depuis 'player' sans traverser de caisse.
+     * @return la plus petite case atteinte (position normalisée du joueur)
+     */
+    public int fill(int player, long[] boxBits) {
+        nextStamp();
+        int min = player;
+        int head = 0, tail = 0;
+        mark[player] = stamp;
+        queue[tail++] = player;
+        while (head < tail) {
+            int cell = queue[head++];
+            for (int d = 0; d < 4; d++) {
+                int next = level.neighbor(cell, d);
+                if (next >= 0 && mark[next] != stamp && !Level.test(boxBits, next)) {
+                    mark[next] = stamp;
+                    via[next] = d;
+                    queue[tail++] = next;
+                    if (next < min) {
+                        min = next;
+                    }
+                }
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Vrai si 'cell' a été atteinte lors du dernier appel à fill().
+     */
+    public boolean reached(int cell) {
+        return mark[cell] == stamp;
+    }
+
+    /**
+     * Plus court chemin du joueur de 'from' à 'to' sans pousser de caisse.
+     * @return les directions successives (indices dans DIRS), ou null si 'to' est inaccessible
+     */
+    public int[] path(int from, int to, long[] boxBits) {
+        fill(from, boxBits);
+        if (!reached(to)) {
+            return null;
+        }
+        int length = 0;
+        for (int cell = to; cell != from; cell = level.neighbor(cell, via[cell] ^ 1)) {
+            length++;
+        }
+        int[] dirs = new int[length];
+        for (int cell = to; cell != from; cell = level.neighbor(cell, via[cell] ^ 1)) {
+            dirs[--length] = via[cell];
+        }
+        return dirs;
+    }
+
+    private void nextStamp() {
+        if (++stamp == 0) {
+            // débordement (après 2^32 remplissages) : tout remettre à zéro
+            Arrays.fill(mark, 0);
+            stamp = 1;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.fstt.devoir;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Limites d'une recherche (nombre de nœuds, temps, mémoire, annulation), vérifiées par la boucle
+ * principale de chaque algorithme.
+ *
+ * L'annulation et le nombre de nœuds sont testés à chaque nœud ; l'horloge et le tas ne sont consultés
+ * que tous les CLOCK_INTERVAL nœuds : le contrôle reste négligeable devant le développement d'un nœud.
+ */
+final class SearchBudget {
+
+    private static final long CLOCK_INTERVAL = 1024;
+
+    private final long maxNodes;
+    private final boolean timed;
+    // Échéance (System.nanoTime), si 'timed'
+    private final long deadline;
+    // Taille maximale du tas occupé, en octets (Long.MAX_VALUE : pas de limite)
+    private final long maxHeapBytes;
+    private final CancellationToken cancellation;
+
+    SearchBudget(SolverOptions options) {
+        this.maxNodes = options.maxNodes;
+        long now = System.nanoTime();
+        long remaining = Long.MAX_VALUE;
+        if (options.timeLimit != null) {
+            remaining = saturatedNanos(options.timeLimit);
+        }
+        if (options.deadline != null) {
+            // échéance absolue convertie en durée restante (négative si déjà passée)
+            remaining = Math.min(remaining, saturatedNanos(Duration.between(Instant.now(), options.deadline)));
+        }
+        this.timed = remaining != Long.MAX_VALUE;
+        this.deadline = timed ? now + remaining : 0;
+        if (options.maxHeapFraction <= 0 || options.maxHeapFraction > 1) {
+            throw new IllegalArgumentException("maxHeapFraction invalide: " + options.maxHeapFraction);
+        }
+        this.maxHeapBytes = options.maxHeapFraction < 1
+                ? (long) (Runtime.getRuntime().maxMemory() * options.maxHeapFraction)
+                : Long.MAX_VALUE;
+        this.cancellation = options.cancellation;
+    }
+
+    /**
+     * @param exploredNodes nombre de nœuds développés jusqu'ici (les doublons retirés de l'openList puis
+     *                      écartés ne comptent pas)
+     * @return la raison de l'arrêt (CANCELLED, NODE_LIMIT, TIMEOUT ou MEMORY_LIMIT),
+     * ou null si la recherche peut continuer
+     */
+    public SearchResult.Status exceeded(long exploredNodes) {
+        if (cancellation != null && cancellation.isCancelled()) {
+            return SearchResult.Status.CANCELLED;
+        }
+        if (exploredNodes >= maxNodes) {
+            return SearchResult.Status.NODE_LIMIT;
+        }
+        if (exploredNodes % CLOCK_INTERVAL == 0) {
+            if (timed && System.nanoTime() - deadline >= 0) {
+                return SearchResult.Status.TIMEOUT;
+            }
+            if (maxHeapBytes != Long.MAX_VALUE && usedHeap() > maxHeapBytes) {
+                return SearchResult.Status.MEMORY_LIMIT;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tas occupé, objets non encore collectés compris : la limite doit garder une marge
+     * (par exemple 0.8) pour s'arrêter avant un OutOfMemoryError sans l'atteindre sur des déchets.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return duration.isNegative() ? Long.MIN_VALUE / 2 : Long.MAX_VALUE;
+        }
+    }
+}
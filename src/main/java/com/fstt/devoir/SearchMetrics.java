@@ -0,0 +1,205 @@
+package com.fstt.devoir;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métriques d'une recherche, mises à jour pendant la recherche et lisibles depuis un autre thread
+ * (par JMX après register(), ou directement).
+ *
+ * Les compteurs sont des LongAdder : les workers de HDA* ou les niveaux d'un lot qui partagent
+ * le même objet les incrémentent sans contention. Les tailles des listes sont tenues par différence
+ * (chaque recherche retire sa contribution en se terminant).
+ * Les métriques sont facultatives (SolverOptions.metrics) : sans elles, la recherche n'est pas instrumentée.
+ */
+final class SearchMetrics implements SearchMetricsMXBean {
+
+    private final long start = System.nanoTime();
+
+    private final LongAdder nodesExpanded = new LongAdder();
+    private final LongAdder nodesGenerated = new LongAdder();
+    private final LongAdder openListSize = new LongAdder();
+    private final LongAdder closedListSize = new LongAdder();
+    private final LongAdder closedLookups = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder reopened = new LongAdder();
+    private final LongAdder deadlocksPruned = new LongAdder();
+    private final LongAdder heuristicNanos = new LongAdder();
+    private final LongAdder heuristicEvaluations = new LongAdder();
+    private volatile int fBound;
+
+    private ObjectName registeredName;
+
+    // --- Mise à jour (threads de recherche) ---
+
+    void nodeExpanded() {
+        nodesExpanded.increment();
+    }
+
+    void nodesGenerated(int count) {
+        nodesGenerated.add(count);
+    }
+
+    void openListChanged(long delta) {
+        openListSize.add(delta);
+    }
+
+    void closedListChanged(long delta) {
+        closedListSize.add(delta);
+    }
+
+    /**
+     * Consultation de la closedList ; 'duplicate' si l'état y était déjà.
+     * Chaque successeur est compté une seule fois, au moment où il est généré (ou reçu par son
+     * propriétaire en HDA*) ; le retrait de l'openList, qui consulte à nouveau la closedList, ne l'est pas.
+     */
+    void closedListLookup(boolean duplicate) {
+        closedLookups.increment();
+        if (duplicate) {
+            duplicates.increment();
+        }
+    }
+
+    /**
+     * État déjà fermé, retrouvé avec un g plus faible et développé à nouveau.
+     */
+    void stateReopened() {
+        reopened.increment();
+    }
+
+    void deadlockPruned() {
+        deadlocksPruned.increment();
+    }
+
+    void heuristicEvaluated(long nanos) {
+        heuristicNanos.add(nanos);
+        heuristicEvaluations.increment();
+    }
+
+    void fBound(int f) {
+        if (fBound != f) {
+            fBound = f;
+        }
+    }
+
+    // --- Lecture ---
+
+    @Override
+    public long getNodesExpanded() {
+        return nodesExpanded.sum();
+    }
+
+    @Override
+    public long getNodesGenerated() {
+        return nodesGenerated.sum();
+    }
+
+    @Override
+    public double getExpansionRate() {
+        return perSecond(getNodesExpanded());
+    }
+
+    @Override
+    public double getGenerationRate() {
+        return perSecond(getNodesGenerated());
+    }
+
+    @Override
+    public long getOpenListSize() {
+        return openListSize.sum();
+    }
+
+    @Override
+    public long getClosedListSize() {
+        return closedListSize.sum();
+    }
+
+    @Override
+    public double getDuplicateHitRate() {
+        long lookups = closedLookups.sum();
+        return lookups == 0 ? 0 : (double) duplicates.sum() / lookups;
+    }
+
+    @Override
+    public long getStatesReopened() {
+        return reopened.sum();
+    }
+
+    @Override
+    public long getDeadlocksPruned() {
+        return deadlocksPruned.sum();
+    }
+
+    @Override
+    public long getHeuristicTimeMillis() {
+        return heuristicNanos.sum() / 1_000_000;
+    }
+
+    @Override
+    public double getHeuristicNanosPerEvaluation() {
+        long evaluations = heuristicEvaluations.sum();
+        return evaluations == 0 ? 0 : (double) heuristicNanos.sum() / evaluations;
+    }
+
+    @Override
+    public int getFBound() {
+        return fBound;
+    }
+
+    @Override
+    public long getElapsedMillis() {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private double perSecond(long count) {
+        long elapsed = System.nanoTime() - start;
+        return elapsed <= 0 ? 0 : count * 1e9 / elapsed;
+    }
+
+    // --- Publication JMX ---
+
+    /**
+     * Publie les métriques sous le nom JMX "com.fstt.devoir:type=SearchMetrics,name=<name>".
+     */
+    void register(String name) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName("com.fstt.devoir:type=SearchMetrics,name=" + ObjectName.quote(name));
+            server.registerMBean(this, objectName);
+            registeredName = objectName;
+        } catch (InstanceAlreadyExistsException e) {
+            throw new IllegalStateException("Métriques déjà publiées sous le nom " + name, e);
+        } catch (JMException e) {
+            throw new IllegalStateException("Publication JMX impossible", e);
+        }
+    }
+
+    /**
+     * Retire les métriques du serveur JMX (sans effet si elles n'ont pas été publiées).
+     */
+    void unregister() {
+        if (registeredName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+        } catch (JMException e) {
+            throw new IllegalStateException("Retrait JMX impossible", e);
+        }
+        registeredName = null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d nœuds développés (%.0f/s), %d générés (%.0f/s), openList %d, closedList %d, "
+                        + "doublons %.1f%%, rouverts %d, impasses %d, heuristique %d ms (%.0f ns/éval.), f = %d",
+                getNodesExpanded(), getExpansionRate(), getNodesGenerated(), getGenerationRate(),
+                getOpenListSize(), getClosedListSize(), 100 * getDuplicateHitRate(), getStatesReopened(),
+                getDeadlocksPruned(),
+                getHeuristicTimeMillis(), getHeuristicNanosPerEvaluation(), getFBound());
+    }
+}
@@ -0,0 +1,41 @@
+package com.fstt.devoir;
+
+/**
+ * Vue JMX des métriques d'une recherche (voir SearchMetrics), consultable pendant la recherche
+ * (jconsole, VisualVM : domaine com.fstt.devoir).
+ */
+public interface SearchMetricsMXBean {
+
+    long getNodesExpanded();
+
+    long getNodesGenerated();
+
+    // Nœuds développés / générés par seconde depuis la création des métriques
+    double getExpansionRate();
+
+    double getGenerationRate();
+
+    // États en attente (openList) et états fermés (closedList) des recherches en cours
+    long getOpenListSize();
+
+    long getClosedListSize();
+
+    // Part des successeurs générés déjà fermés (une consultation par successeur, à sa génération)
+    double getDuplicateHitRate();
+
+    // États fermés retrouvés avec un g plus faible et développés à nouveau (A*, HDA*)
+    long getStatesReopened();
+
+    // Poussées éliminées : case morte, gel ou heuristique infinie
+    long getDeadlocksPruned();
+
+    // Temps total passé dans l'heuristique, et temps moyen par évaluation
+    long getHeuristicTimeMillis();
+
+    double getHeuristicNanosPerEvaluation();
+
+    // Borne courante sur f : f du dernier nœud développé (A*, HDA*) ou seuil de l'itération (IDA*)
+    int getFBound();
+
+    long getElapsedMillis();
+}
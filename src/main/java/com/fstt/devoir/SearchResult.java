@@ -0,0 +1,44 @@
+package com.fstt.devoir;
+
+/**
+ * Résultat détaillé d'une recherche : issue, état final éventuel et nombre de nœuds explorés.
+ */
+final class SearchResult {
+
+    /**
+     * Issue de la recherche.
+     */
+    enum Status {
+        // une solution optimale a été trouvée ('goal' non nul)
+        SOLVED,
+        // l'espace d'états a été entièrement exploré sans solution
+        UNSOLVABLE,
+        // le temps alloué (SolverOptions.timeLimit ou deadline) est écoulé
+        TIMEOUT,
+        // le nombre maximal de nœuds (SolverOptions.maxNodes) a été atteint
+        NODE_LIMIT,
+        // le tas occupé dépasse SolverOptions.maxHeapFraction de la taille maximale du tas
+        MEMORY_LIMIT,
+        // l'arrêt a été demandé par SolverOptions.cancellation
+        CANCELLED
+    }
+
+    public final Status status;
+    // État final gagnant (SOLVED uniquement), sinon null
+    public final Etat goal;
+    public final long exploredNodes;
+
+    SearchResult(Status status, Etat goal, long exploredNodes) {
+        this.status = status;
+        this.goal = goal;
+        this.exploredNodes = exploredNodes;
+    }
+
+    static SearchResult solved(Etat goal, long exploredNodes) {
+        return new SearchResult(Status.SOLVED, goal, exploredNodes);
+    }
+
+    static SearchResult stopped(Status status, long exploredNodes) {
+        return new SearchResult(status, null, exploredNodes);
+    }
+}
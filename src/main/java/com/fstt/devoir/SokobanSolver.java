@@ -18,18 +18,21 @@ public class SokobanSolver {
     public static final char FLOOR = '□';
     public static final char PLAYER_ON_TARGET = '+';
 
-    // Les caisses dans un emplacement autre que la cible (nommées a, b, c, d)
-    public static final char[] BOX_NAMES = {'a', 'b', 'c', 'd'};
-    // Les caisses DANS leurs cibles (en majuscules)
-    public static final char[] BOX_ON_TARGET_NAMES = {'A', 'B', 'C', 'D'};
-
-    // Map pour convertir entre casse minuscule et majuscule des caisses
-    public static final Map<Character, Character> BOX_TO_TARGET_MAP = Map.of(
-            'a', 'A', 'b', 'B', 'c', 'C', 'd', 'D',
-            'A', 'a', 'B', 'b', 'C', 'c', 'D', 'd'
-    );
-    // Ensemble rapide pour tester si un caractère représente une caisse
-    public static final Set<Character> ALL_BOX_SYMBOLS = new HashSet<>(Arrays.asList('a', 'b', 'c', 'd', 'A', 'B', 'C', 'D'));
+    // --- Notation standard XSB (fichiers .sok / .xsb), acceptée aussi par Level ---
+    // '@', '+' et le sol (espace, '-' ou '_') sont communs aux deux notations
+    public static final char XSB_WALL = '#';
+    public static final char XSB_TARGET = '.';
+    // Caisses anonymes : elles reçoivent un nom dans l'ordre de lecture
+    public static final char XSB_BOX = '$';
+    public static final char XSB_BOX_ON_TARGET = '*';
+
+    // Caisses nommées : une lettre minuscule hors de la cible, majuscule sur la cible
+    // ('t' est exclue : 'T' désigne une cible). Les caisses XSB ('$', '*') n'ont pas de nom :
+    // dans tous les cas, l'identité d'une caisse est son indice dans Level (nombre de caisses illimité).
+    public static final char NO_BOX_NAME = 0;
+    // Symboles d'affichage des caisses sans nom
+    public static final char ANONYMOUS_BOX = '$';
+    public static final char ANONYMOUS_BOX_ON_TARGET = '*';
 
     // --- Directions de déplacement (delta ligne, delta colonne) ---
     public static final int[][] DIRS = {
@@ -39,6 +42,10 @@ public class SokobanSolver {
     public static final String[] DIR_NAMES = {
             "UP", "DOWN", "LEFT", "RIGHT"
     };
+    // Lettres de la notation LURD (majuscule pour une poussée)
+    public static final char[] DIR_LURD = {
+            'u', 'd', 'l', 'r'
+    };
 
     /**
     * Résout le niveau avec A* en minimisant le nombre de poussées.
@@ -46,56 +53,239 @@ public class SokobanSolver {
     * @return l'état final gagnant (si trouvé) ou null sinon
      */
     static Etat solve(String[] level) {
+        return solve(level, new SolverOptions());
+    }
+
+    /**
+    * Résout le niveau avec A* en minimisant le nombre de poussées.
+    * @param level tableau de chaînes représentant la grille initiale
+    * @param options options de la recherche
+    * @return l'état final gagnant (si trouvé) ou null sinon
+     */
+    static Etat solve(String[] level, SolverOptions options) {
+        return solve(new Level(level), options);
+    }
+
+    /**
+    * Résout un niveau déjà analysé. Le Level est le seul contexte de la recherche :
+    * plusieurs niveaux peuvent être résolus en parallèle dans la même JVM.
+    * @param level niveau (immuable)
+    * @param options options de la recherche
+    * @return l'état final gagnant (si trouvé) ou null sinon
+     */
+    static Etat solve(Level level, SolverOptions options) {
+        return search(level, options).goal;
+    }
+
+    /**
+    * Résout un niveau en respectant le budget des options (maxNodes, timeLimit, deadline, maxHeapFraction)
+    * et le jeton d'annulation éventuel : la recherche s'arrête toujours proprement, avec son issue.
+    * @param level niveau (immuable)
+    * @param options options de la recherche
+    * @return l'issue de la recherche (SOLVED, UNSOLVABLE, TIMEOUT, NODE_LIMIT, MEMORY_LIMIT, CANCELLED),
+    * l'état final s'il a été trouvé et le nombre de nœuds explorés
+     */
+    static SearchResult search(Level level, SolverOptions options) {
+        if (options.identicalBoxes) {
+            level = level.withIdenticalBoxes();
+        }
 
         // 1. Initialisation
-        // Crée l'état initial en analysant la grille
+        // Crée l'état initial à partir du niveau
         Etat etatInitial = new Etat(level);
+        boolean idaStar = options.algorithm == SolverOptions.Algorithm.IDA_STAR;
+        boolean parallel = options.algorithm == SolverOptions.Algorithm.PARALLEL_A_STAR;
+        boolean pushLevel = idaStar || parallel || options.mode == SolverOptions.SearchMode.PUSHES;
+        if (pushLevel) {
+            // en recherche par poussées, le joueur est représenté par sa zone
+            etatInitial.normalizePlayer();
+        }
         if (etatInitial.isGoal()) {
-            System.out.println("Niveau déjà résolu!");
-            return etatInitial;
+            if (options.verbose) {
+                System.out.println("Niveau déjà résolu!");
+            }
+            return SearchResult.solved(etatInitial, 0);
+        }
+        if (etatInitial.h_cost == HungarianHeuristic.UNSOLVABLE) {
+            // une caisse ne peut atteindre aucune cible libre : inutile de chercher
+            if (options.verbose) {
+                System.out.println("Niveau sans solution (impasse dès l'état initial)");
+            }
+            return SearchResult.stopped(SearchResult.Status.UNSOLVABLE, 0);
+        }
+
+        SearchBudget budget = new SearchBudget(options);
+        if (idaStar) {
+            // IDA* : recherche en profondeur à mémoire bornée, sans openList ni closedList
+            return IdaStarSolver.solve(etatInitial, options, budget);
         }
+        if (parallel) {
+            // HDA* : un worker par portion de l'espace d'états
+            return ParallelAStarSolver.solve(etatInitial, options, budget);
+        }
+
+    // openList : états ouverts retirés par f_cost (g + h) croissant (tas ou seaux, voir OpenList)
+        OpenList openList = OpenList.create(options);
 
-    // openList : PriorityQueue triée par f_cost (g + h)
-        PriorityQueue<Etat> openList = new PriorityQueue<>(Comparator.comparingInt(s -> s.f_cost));
+    // closedList : clés de Zobrist (64 bits) des états déjà visités, en mémoire ou hors tas
+        try (ClosedList closedList = createClosedList(options)) {
+            try {
+                return search(etatInitial, pushLevel, openList, closedList, options, budget);
+            } finally {
+                if (options.metrics != null) {
+                    // la recherche est terminée : ses listes ne comptent plus dans les tailles publiées
+                    options.metrics.openListChanged(-openList.size());
+                    options.metrics.closedListChanged(-closedList.size());
+                }
+            }
+        }
+    }
 
-    // closedList : ensemble des clés uniques d'états déjà visités
-        Set<String> closedList = new HashSet<>();
+    /**
+     * Boucle principale de l'A*.
+     */
+    private static SearchResult search(Etat etatInitial, boolean pushLevel, OpenList openList,
+                                       ClosedList closedList, SolverOptions options, SearchBudget budget) {
+        // Vérification optionnelle des collisions contre les clés exactes
+        CollisionVerifier verifier = options.verifyCollisions ? new CollisionVerifier() : null;
+        // Métriques publiées pendant la recherche (facultatives)
+        SearchMetrics metrics = options.metrics;
 
         openList.add(etatInitial);
-        int exploredNodes = 0; // Métrique: Nombre de nœuds explorés
+        if (metrics != null) {
+            metrics.openListChanged(1);
+        }
+        long exploredNodes = 0; // Métrique: Nombre de nœuds explorés (développés, doublons écartés non compris)
+
+        // Test de doublon appliqué à chaque successeur avant sa construction (sauf en mode de vérification)
+        SuccessorFilter filter = verifier != null ? SuccessorFilter.ALL : (hash, g) -> {
+            boolean closed = closedList.isClosed(hash, g);
+            if (metrics != null) {
+                metrics.closedListLookup(closed);
+            }
+            return !closed;
+        };
+        // Successeurs du nœud développé (liste réutilisée d'un nœud à l'autre)
+        List<Etat> successors = new ArrayList<>();
+        // Chemins compacts : prédécesseur et mouvement de chaque état développé, à la place des pointeurs 'parent'
+        PredecessorTable predecessors = options.compactPaths ? new PredecessorTable() : null;
 
         // Boucle principale A* : on explore tant qu'il y a des états ouverts
         while (!openList.isEmpty()) {
             // Prendre le meilleur état (celui avec le plus petit f_cost)
             Etat current = openList.poll();
+
+            // Marquer l'état courant comme visité, ou l'ignorer si la configuration a déjà été traitée
+            // avec un coût inférieur ou égal (retrouvé avec un g plus faible, il est rouvert).
+            // Pas de consultation comptée ici : elle l'a été à la génération de l'état
+            long closedBefore = closedList.size();
+            boolean added = closedList.add(current.hash, current.g_cost);
+            if (metrics != null) {
+                metrics.openListChanged(-1);
+                metrics.closedListChanged(closedList.size() - closedBefore);
+                if (added && closedList.size() == closedBefore) {
+                    metrics.stateReopened();
+                }
+            }
+            if (verifier == null) {
+                if (!added) {
+                    continue;
+                }
+            } else {
+                if (verifier.isClosed(!added, current)) {
+                    continue;
+                }
+                verifier.add(current);
+            }
+
+            // Budget épuisé : abandon du niveau (maxNodes porte sur les nœuds développés, comme en IDA* et HDA*)
+            SearchResult.Status exceeded = budget.exceeded(exploredNodes);
+            if (exceeded != null) {
+                printMetrics(options, exploredNodes, closedList, verifier);
+                return SearchResult.stopped(exceeded, exploredNodes);
+            }
             exploredNodes++;
+            if (metrics != null) {
+                metrics.nodeExpanded();
+                metrics.fBound(current.f_cost);
+            }
 
-            // Ignorer si la configuration a déjà été traitée
-            if (closedList.contains(current.getUniqueKey())) {
-                continue;
+            if (predecessors != null && current.move != Move.NONE) {
+                predecessors.put(current.hash, current.parentHash, current.move);
             }
 
             // 3. Vérification de la Victoire
             if (current.isGoal()) {
                 // Métrique: Nombre de nœuds explorés
-                System.out.println("Nombre de nœuds explorés par A*: " + exploredNodes);
-                return current; // Solution trouvée!
+                printMetrics(options, exploredNodes, closedList, verifier);
+                if (predecessors != null) {
+                    // rejouer le chemin retrouvé dans la table pour obtenir la chaîne d'états de la solution
+                    int[] path = PredecessorTable.path(etatInitial.hash, current, key -> predecessors, predecessors.size());
+                    current = etatInitial.replay(path, pushLevel);
+                }
+                return SearchResult.solved(current, exploredNodes); // Solution trouvée!
             }
 
-            // Marquer l'état courant comme visité
-            closedList.add(current.getUniqueKey());
-
-            // Générer tous les successeurs (mouvements et poussées)
-            for (Etat nextState : current.generateSuccessors()) {
-                if (!closedList.contains(nextState.getUniqueKey())) {
-                    openList.add(nextState);
+            // Générer les successeurs (mouvements et poussées, ou poussées seules) : les états déjà fermés
+            // sont écartés sur leur clé, avant d'être construits
+            successors.clear();
+            if (pushLevel) {
+                current.generatePushes(metrics, filter, successors);
+            } else {
+                current.generateSuccessors(metrics, filter, successors);
+            }
+            int opened = 0;
+            for (Etat nextState : successors) {
+                if (verifier != null) {
+                    // la vérification compare la clé exacte : elle a besoin de l'état construit
+                    boolean closed = verifier.isClosed(closedList.isClosed(nextState.hash, nextState.g_cost), nextState);
+                    if (metrics != null) {
+                        metrics.closedListLookup(closed);
+                    }
+                    if (closed) {
+                        continue;
+                    }
+                }
+                if (predecessors != null) {
+                    // le parent pourra être collecté : seule sa clé (parentHash) est conservée
+                    nextState.parent = null;
                 }
+                openList.add(nextState);
+                opened++;
+            }
+            if (metrics != null) {
+                metrics.openListChanged(opened);
             }
         }
 
         // 6. Échec
+        printMetrics(options, exploredNodes, closedList, verifier);
+        return SearchResult.stopped(SearchResult.Status.UNSOLVABLE, exploredNodes); // Solution non trouvée
+    }
+
+    /**
+     * Crée la closedList demandée par les options : hors tas si un fichier est fourni.
+     */
+    private static ClosedList createClosedList(SolverOptions options) {
+        if (options.closedListFile != null) {
+            return new MappedTranspositionTable(options.closedListFile, options.closedListCapacity);
+        }
+        return new HeapClosedList(options.closedListExpectedSize, options.closedListMaxLoad);
+    }
+
+    /**
+     * Affiche le nombre de nœuds explorés, l'occupation de la closedList et, en mode de vérification,
+     * le nombre de collisions détectées (si options.verbose).
+     */
+    private static void printMetrics(SolverOptions options, long exploredNodes, ClosedList closedList, CollisionVerifier verifier) {
+        if (!options.verbose) {
+            return;
+        }
         System.out.println("Nombre de nœuds explorés par A*: " + exploredNodes);
-        return null; // Solution non trouvée
+        System.out.println("closedList: " + closedList.stats());
+        if (verifier != null) {
+            System.out.println("Collisions de clés Zobrist détectées: " + verifier.collisions());
+        }
     }
 
     /**
@@ -118,18 +308,23 @@ public class SokobanSolver {
     }
 
     /**
-     * Retourne vrai si le caractère représente une caisse (minuscule ou majuscule).
+     * Retourne vrai si le caractère représente une caisse nommée (minuscule ou majuscule).
      */
     public static boolean isBoxSymbol(char c) {
-        return ALL_BOX_SYMBOLS.contains(c);
+        return ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) && Character.toLowerCase(c) != 't';
+    }
+
+    /**
+     * Retourne vrai si le caractère représente une caisse nommée posée sur une cible (majuscule).
+     */
+    public static boolean isBoxOnTargetSymbol(char c) {
+        return isBoxSymbol(c) && Character.isUpperCase(c);
     }
 
     /**
      * Renvoie le nom de base (minuscule) d'une caisse donnée en majuscule ou minuscule.
      */
     public static char getBoxName(char c) {
-        if (c >= 'a' && c <= 'd') return c;
-        if (c >= 'A' && c <= 'D') return SokobanSolver.BOX_TO_TARGET_MAP.get(c);
-        return ' '; // Ne devrait pas arriver
+        return Character.toLowerCase(c);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package com.fstt.devoir;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Solution reconstruite à partir de l'état final : la suite des états depuis l'état initial,
+ * la position réelle du joueur dans chacun d'eux et la séquence complète des mouvements.
+ *
+ * En recherche par poussées, les états ne contiennent que des poussées et une position de joueur
+ * normalisée : les déplacements du joueur entre deux poussées sont recalculés ici par BFS.
+ * Le mouvement de chaque état (voir Move) donne la direction et la caisse poussée.
+ */
+final class Solution {
+
+    // États de la solution, de l'état initial à l'état final
+    public final List<Etat> states;
+    // Position réelle du joueur dans chaque état (même indice que 'states')
+    public final int[] playerCells;
+    // Séquence des mouvements en notation LURD (minuscule = déplacement, majuscule = poussée)
+    public final String moves;
+
+    public Solution(Etat etatFinal) {
+        List<Etat> chain = new ArrayList<>();
+        for (Etat courant = etatFinal; courant != null; courant = courant.parent) {
+            chain.add(courant);
+        }
+        Collections.reverse(chain);
+        this.states = Collections.unmodifiableList(chain);
+
+        Level level = etatFinal.level;
+        Reachability reach = level.reachability();
+        StringBuilder lurd = new StringBuilder();
+        this.playerCells = new int[chain.size()];
+        int actual = level.initialPlayer;
+        playerCells[0] = actual;
+
+        for (int i = 1; i < chain.size(); i++) {
+            Etat previous = chain.get(i - 1);
+            Etat current = chain.get(i);
+            int dir = Move.direction(current.move);
+
+            if (!Move.isPush(current.move)) {
+                // déplacement simple : une seule case
+                lurd.append(SokobanSolver.DIR_LURD[dir]);
+                actual = current.player;
+            } else {
+                int from = previous.boxCells[Move.box(current.move)];
+                // marcher jusque derrière la caisse, puis pousser
+                int[] walk = reach.path(actual, level.neighbor(from, dir ^ 1), previous.boxBits);
+                if (walk == null) {
+                    throw new IllegalStateException("Poussée inaccessible dans la solution");
+                }
+                for (int d : walk) {
+                    lurd.append(SokobanSolver.DIR_LURD[d]);
+                }
+                lurd.append(Character.toUpperCase(SokobanSolver.DIR_LURD[dir]));
+                actual = from;
+            }
+            playerCells[i] = actual;
+        }
+        this.moves = lurd.toString();
+    }
+
+    /**
+     * Nombre de poussées de la solution.
+     */
+    public int pushes() {
+        return states.get(states.size() - 1).g_cost;
+    }
+}
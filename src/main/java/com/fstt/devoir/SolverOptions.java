@@ -0,0 +1,142 @@
+package com.fstt.devoir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Options de la recherche A*.
+ * Les valeurs par défaut correspondent au comportement standard du solveur.
+ */
+class SolverOptions {
+
+    /**
+     * Granularité des nœuds de la recherche.
+     */
+    enum SearchMode {
+        // un nœud par position du joueur : chaque pas (MOVE, coût 0) ou poussée (PUSH, coût 1) est un successeur
+        MOVES,
+        // un nœud par configuration de caisses + zone du joueur : seules les poussées sont des successeurs
+        PUSHES
+    }
+
+    public SearchMode mode = SearchMode.MOVES;
+
+    /**
+     * Algorithme de recherche.
+     */
+    enum Algorithm {
+        // A* classique : openList + closedList, mémoire proportionnelle au nombre d'états générés
+        A_STAR,
+        // IDA* au niveau des poussées : mémoire linéaire en la profondeur de la solution (ignore 'mode')
+        IDA_STAR,
+        // A* parallèle distribué par hachage (HDA*) au niveau des poussées, sur 'threads' threads (ignore 'mode')
+        PARALLEL_A_STAR
+    }
+
+    public Algorithm algorithm = Algorithm.A_STAR;
+
+    /**
+     * Structure de l'openList (A* et HDA*).
+     */
+    enum OpenListType {
+        // tas binaire (PriorityQueue) : O(log n) par opération
+        HEAP,
+        // seaux indexés par f (puis h, selon tieBreaking) : O(1) par opération
+        BUCKETS
+    }
+
+    public OpenListType openList = OpenListType.BUCKETS;
+
+    /**
+     * Départage des états de même f dans l'openList (tas comme seaux). L'ordre est total :
+     * une même recherche développe toujours les mêmes nœuds, dans le même ordre.
+     */
+    enum TieBreaking {
+        // plus petit h d'abord, c'est-à-dire plus grand g (f = g + h) : l'état le plus avancé ; puis LIFO
+        LOWER_H,
+        // dernier ajouté d'abord (exploration en profondeur des plateaux)
+        LIFO,
+        // premier ajouté d'abord (exploration en largeur des plateaux)
+        FIFO
+    }
+
+    public TieBreaking tieBreaking = TieBreaking.LOWER_H;
+
+    // IDA* : taille de la table de transposition (2^idaTableBits entrées de 16 octets)
+    public int idaTableBits = 20;
+
+    // HDA* : nombre de workers (par défaut un par cœur)
+    public int threads = Runtime.getRuntime().availableProcessors();
+
+    // Caisses interchangeables : un état ne dépend que de l'ensemble des cases occupées
+    // (les permutations de caisses sont confondues). Faux : chaque caisse garde son identité.
+    public boolean identicalBoxes = false;
+
+    // Vérifie chaque clé de Zobrist contre la clé texte exacte (getUniqueKey) :
+    // plus lent, mais détecte et neutralise les collisions de hachage.
+    public boolean verifyCollisions = false;
+
+    // Les états ne gardent pas de pointeur vers leur parent : seuls (clé -> clé du prédécesseur, mouvement)
+    // sont conservés pour les états développés (PredecessorTable), et le chemin est rejoué à la fin.
+    // Les états développés peuvent alors être collectés (A* et HDA* ; IDA* ne garde déjà aucun arbre).
+    public boolean compactPaths = false;
+
+    // Si non null, la closedList est une table hors tas projetée depuis ce fichier (disque local)
+    // au lieu d'une table en mémoire : pour les recherches qui dépassent la taille du tas.
+    public Path closedListFile = null;
+    // Nombre d'états que la table hors tas doit pouvoir contenir (sa taille est fixe)
+    public long closedListCapacity = 1L << 24;
+    // closedList en mémoire (A*, HDA*) : nombre d'états attendu, pour éviter les agrandissements successifs
+    // (partagé entre les workers en HDA*), et taux de remplissage maximal avant doublement (entre 0 et 1 exclus)
+    public int closedListExpectedSize = 1 << 10;
+    public float closedListMaxLoad = 0.5f;
+
+    // Budget par niveau : la recherche s'arrête (TIMEOUT / NODE_LIMIT / MEMORY_LIMIT) au-delà de ces limites
+    // (maxNodes : nœuds développés, les doublons retirés de l'openList puis écartés ne comptent pas)
+    public long maxNodes = Long.MAX_VALUE;
+    // null : pas de limite de temps
+    public Duration timeLimit = null;
+    // Échéance absolue (null : aucune) ; avec timeLimit, la plus proche des deux s'applique
+    public Instant deadline = null;
+    // Part maximale du tas (Runtime.maxMemory()) occupée pendant la recherche ; 1 : pas de limite
+    public double maxHeapFraction = 1.0;
+
+    // Si non null, cancel() arrête la recherche (statut CANCELLED) ; en résolution par lot, tout le lot
+    public CancellationToken cancellation = null;
+
+    // Si non null, la recherche met à jour ces métriques en continu (lisibles depuis un autre thread,
+    // ou par JMX après SearchMetrics.register()) ; un même objet peut être partagé par plusieurs recherches
+    public SearchMetrics metrics = null;
+
+    // Affiche les métriques de la recherche (nœuds explorés, closedList) sur la sortie standard
+    public boolean verbose = true;
+
+    /**
+     * Copie des options (pour les ajuster sans modifier celles de l'appelant).
+     */
+    SolverOptions copy() {
+        SolverOptions copy = new SolverOptions();
+        copy.mode = mode;
+        copy.algorithm = algorithm;
+        copy.openList = openList;
+        copy.tieBreaking = tieBreaking;
+        copy.idaTableBits = idaTableBits;
+        copy.threads = threads;
+        copy.identicalBoxes = identicalBoxes;
+        copy.verifyCollisions = verifyCollisions;
+        copy.compactPaths = compactPaths;
+        copy.closedListFile = closedListFile;
+        copy.closedListCapacity = closedListCapacity;
+        copy.closedListExpectedSize = closedListExpectedSize;
+        copy.closedListMaxLoad = closedListMaxLoad;
+        copy.maxNodes = maxNodes;
+        copy.timeLimit = timeLimit;
+        copy.deadline = deadline;
+        copy.maxHeapFraction = maxHeapFraction;
+        copy.cancellation = cancellation;
+        copy.metrics = metrics;
+        copy.verbose = verbose;
+        return copy;
+    }
+}
@@ -0,0 +1,23 @@
+package com.fstt.devoir;
+
+/**
+ * Test de doublon appliqué à un successeur avant sa construction.
+ *
+ * La génération calcule d'abord la clé de Zobrist du successeur (mise à jour incrémentale, sans
+ * allocation) et la soumet au filtre : un successeur refusé n'est jamais alloué et son heuristique
+ * n'est pas calculée. La plupart des successeurs sont des états déjà fermés ; leur rejet ne coûte
+ * ainsi qu'une recherche dans la closedList.
+ */
+@FunctionalInterface
+interface SuccessorFilter {
+
+    // Accepte tous les successeurs
+    SuccessorFilter ALL = (hash, g) -> true;
+
+    /**
+     * @param hash clé de Zobrist du successeur
+     * @param g coût du successeur (nombre de poussées)
+     * @return faux si le successeur est un doublon à ignorer
+     */
+    boolean accept(long hash, int g);
+}
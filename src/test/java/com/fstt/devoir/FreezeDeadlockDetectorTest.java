@@ -0,0 +1,196 @@
+package com.fstt.devoir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.LongBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Impasses par gel : une poussée signalée doit mener à une configuration réellement insoluble,
+ * et la réponse mémorisée pour un motif (case, 5x5) doit être celle d'une évaluation sans mémoire.
+ */
+class FreezeDeadlockDetectorTest {
+
+    private static final int WALKS = 20;
+    private static final int WALK_LENGTH = 40;
+    // Au-delà, la recherche exhaustive est abandonnée et le cas n'est pas concluant
+    private static final int BFS_LIMIT = 5_000;
+    // Cas non concluants tolérés par niveau avant de passer au suivant (grands niveaux)
+    private static final int INCONCLUSIVE_LIMIT = 10;
+
+    @Test
+    void reportedDeadlocksAreUnsolvable() {
+        SplittableRandom random = new SplittableRandom(9);
+        int proved = 0;
+        for (LevelEntry entry : TestLevels.all()) {
+            int inconclusive = 0;
+            // une même configuration gelée n'est vérifiée qu'une fois
+            Set<LongBuffer> checked = new HashSet<>();
+            Level level = new Level(entry.grid);
+            FreezeDeadlockDetector detector = new FreezeDeadlockDetector(level);
+            for (int w = 0; w < WALKS && inconclusive < INCONCLUSIVE_LIMIT; w++) {
+                for (Etat state : TestLevels.randomPushWalk(level, random, WALK_LENGTH)) {
+                    boolean[] reachable = reachable(level, state.boxBits, state.player);
+                    for (int box : state.boxCells) {
+                        for (int dir = 0; dir < 4; dir++) {
+                            int to = pushTarget(level, state.boxBits, reachable, box, dir);
+                            if (to < 0 || !detector.isDeadlock(state.boxBits, box, to)) {
+                                continue;
+                            }
+                            long[] after = Arrays.copyOf(state.boxBits, state.boxBits.length);
+                            Level.clear(after, box);
+                            Level.set(after, to);
+                            if (!checked.add(LongBuffer.wrap(node(level, after, box)))) {
+                                continue;
+                            }
+                            Boolean solvable = isSolvable(level, after, box);
+                            if (solvable != null) {
+                                int from = box, d = dir;
+                                assertFalse(solvable, () -> entry.title + " : caisse de la case " + from
+                                        + " poussée dans la direction " + d + ", signalée gelée mais soluble");
+                                proved++;
+                            } else {
+                                inconclusive++;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        assertTrue(proved > 0, "aucune impasse vérifiée par la recherche exhaustive");
+    }
+
+    @Test
+    void memoizedAnswerMatchesFreshEvaluation() {
+        SplittableRandom random = new SplittableRandom(10);
+        for (LevelEntry entry : TestLevels.all()) {
+            Level level = new Level(entry.grid);
+            // une seule instance pour tout le niveau : les motifs déjà vus sont servis par la mémoire
+            FreezeDeadlockDetector memoized = new FreezeDeadlockDetector(level);
+            for (int w = 0; w < WALKS; w++) {
+                for (Etat state : TestLevels.randomPushWalk(level, random, WALK_LENGTH)) {
+                    boolean[] reachable = reachable(level, state.boxBits, state.player);
+                    for (int box : state.boxCells) {
+                        for (int dir = 0; dir < 4; dir++) {
+                            int to = pushTarget(level, state.boxBits, reachable, box, dir);
+                            if (to < 0) {
+                                continue;
+                            }
+                            boolean fresh = new FreezeDeadlockDetector(level).isDeadlock(state.boxBits, box, to);
+                            int from = box;
+                            assertEquals(fresh, memoized.isDeadlock(state.boxBits, box, to),
+                                    () -> entry.title + " : caisse poussée de la case " + from + " vers " + to);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Case d'arrivée de la caisse sur 'box' poussée dans la direction 'dir', ou -1 si la poussée est impossible
+     * (joueur ne pouvant atteindre la case opposée, mur ou caisse derrière).
+     */
+    private static int pushTarget(Level level, long[] boxBits, boolean[] reachable, int box, int dir) {
+        int behind = level.neighbor(box, dir ^ 1);
+        int to = level.neighbor(box, dir);
+        if (behind < 0 || !reachable[behind] || to < 0 || Level.test(boxBits, to)) {
+            return -1;
+        }
+        return to;
+    }
+
+    /**
+     * Cases accessibles au joueur depuis 'player' sans pousser de caisse.
+     */
+    private static boolean[] reachable(Level level, long[] boxBits, int player) {
+        boolean[] seen = new boolean[level.cellCount];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        seen[player] = true;
+        queue.add(player);
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            for (int dir = 0; dir < 4; dir++) {
+                int next = level.neighbor(cell, dir);
+                if (next >= 0 && !seen[next] && !Level.test(boxBits, next)) {
+                    seen[next] = true;
+                    queue.add(next);
+                }
+            }
+        }
+        return seen;
+    }
+
+    /**
+     * Recherche exhaustive en largeur au niveau des poussées, sans aucun élagage : vrai si une configuration
+     * finale est accessible, faux si aucune ne l'est, null si la recherche dépasse BFS_LIMIT états.
+     */
+    private static Boolean isSolvable(Level level, long[] boxBits, int player) {
+        Set<LongBuffer> visited = new HashSet<>();
+        ArrayDeque<long[]> queue = new ArrayDeque<>();
+        long[] start = node(level, boxBits, player);
+        visited.add(LongBuffer.wrap(start));
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            long[] current = queue.poll();
+            long[] bits = Arrays.copyOf(current, current.length - 1);
+            if (isGoal(level, bits)) {
+                return true;
+            }
+            boolean[] reachable = reachable(level, bits, (int) current[current.length - 1]);
+            for (int box = 0; box < level.cellCount; box++) {
+                if (!Level.test(bits, box)) {
+                    continue;
+                }
+                for (int dir = 0; dir < 4; dir++) {
+                    int to = pushTarget(level, bits, reachable, box, dir);
+                    if (to < 0) {
+                        continue;
+                    }
+                    long[] next = Arrays.copyOf(bits, bits.length);
+                    Level.clear(next, box);
+                    Level.set(next, to);
+                    long[] child = node(level, next, box);
+                    if (visited.add(LongBuffer.wrap(child))) {
+                        if (visited.size() > BFS_LIMIT) {
+                            return null;
+                        }
+                        queue.add(child);
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Nœud de la recherche exhaustive : boxBits suivis de la case accessible d'indice minimal (joueur normalisé).
+     */
+    private static long[] node(Level level, long[] boxBits, int player) {
+        boolean[] reachable = reachable(level, boxBits, player);
+        int normalized = 0;
+        while (!reachable[normalized]) {
+            normalized++;
+        }
+        long[] node = Arrays.copyOf(boxBits, boxBits.length + 1);
+        node[boxBits.length] = normalized;
+        return node;
+    }
+
+    private static boolean isGoal(Level level, long[] boxBits) {
+        for (int w = 0; w < boxBits.length; w++) {
+            if ((boxBits[w] & ~level.targetBits[w]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
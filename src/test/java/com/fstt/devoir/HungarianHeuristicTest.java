@@ -0,0 +1,68 @@
+package com.fstt.devoir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * La mise à jour incrémentale (evaluateMove) doit donner le même coût qu'un couplage recalculé
+ * entièrement (prepare) sur la configuration obtenue.
+ */
+class HungarianHeuristicTest {
+
+    private static final int WALKS = 20;
+    private static final int WALK_LENGTH = 40;
+
+    @Test
+    void evaluateMoveMatchesFullRecomputeOnPushes() {
+        SplittableRandom random = new SplittableRandom(6);
+        for (LevelEntry entry : TestLevels.all()) {
+            Level level = new Level(entry.grid);
+            HungarianHeuristic incremental = new HungarianHeuristic(level);
+            for (int w = 0; w < WALKS; w++) {
+                for (Etat state : TestLevels.randomPushWalk(level, random, WALK_LENGTH)) {
+                    incremental.prepare(state.boxCells);
+                    // plusieurs évaluations de suite : la référence préparée ne doit pas être modifiée
+                    for (Etat next : state.generatePushes()) {
+                        int box = Move.box(next.move);
+                        assertEquals(fullRecompute(level, next.boxCells), incremental.evaluateMove(box, next.boxCells[box]),
+                                () -> entry.title + " : " + Move.toString(level, next.move));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void evaluateMoveMatchesFullRecomputeOnArbitraryCells() {
+        // déplacements quelconques, cases mortes et cibles inaccessibles comprises (UNSOLVABLE)
+        SplittableRandom random = new SplittableRandom(7);
+        for (LevelEntry entry : TestLevels.all()) {
+            Level level = new Level(entry.grid);
+            HungarianHeuristic incremental = new HungarianHeuristic(level);
+            for (Etat state : TestLevels.randomPushWalk(level, random, WALK_LENGTH)) {
+                incremental.prepare(state.boxCells);
+                for (int box = 0; box < state.boxCells.length; box++) {
+                    for (int cell = 0; cell < level.cellCount; cell++) {
+                        if (Level.test(state.boxBits, cell)) {
+                            continue;
+                        }
+                        int[] moved = Arrays.copyOf(state.boxCells, state.boxCells.length);
+                        moved[box] = cell;
+                        int b = box, c = cell;
+                        assertEquals(fullRecompute(level, moved), incremental.evaluateMove(box, cell),
+                                () -> entry.title + " : caisse " + b + " sur la case " + c);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int fullRecompute(Level level, int[] boxCells) {
+        return new HungarianHeuristic(level).prepare(boxCells);
+    }
+}
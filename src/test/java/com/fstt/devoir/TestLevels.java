@@ -0,0 +1,54 @@
+package com.fstt.devoir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Niveaux utilisés par les tests : les collections livrées avec les benchmarks (src/jmh/resources/levels).
+ */
+final class TestLevels {
+
+    private static final String[] FILES = {"small.sok", "medium.sok", "hard.sok"};
+
+    private TestLevels() {
+    }
+
+    /**
+     * Tous les niveaux des collections, caisses nommées.
+     */
+    static List<LevelEntry> all() {
+        List<LevelEntry> entries = new ArrayList<>();
+        for (String file : FILES) {
+            try (LevelCollectionReader reader = LevelCollectionReader.open(Path.of("src/jmh/resources/levels", file))) {
+                reader.forEachRemaining(entries::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Marche aléatoire de poussées depuis l'état initial (joueur normalisé) : au plus 'length' états,
+     * arrêtée plus tôt sur une impasse ou un état final.
+     */
+    static List<Etat> randomPushWalk(Level level, SplittableRandom random, int length) {
+        List<Etat> walk = new ArrayList<>();
+        Etat current = new Etat(level);
+        current.normalizePlayer();
+        walk.add(current);
+        while (walk.size() < length && !current.isGoal()) {
+            List<Etat> pushes = current.generatePushes();
+            if (pushes.isEmpty()) {
+                break;
+            }
+            current = pushes.get(random.nextInt(pushes.size()));
+            walk.add(current);
+        }
+        return walk;
+    }
+}